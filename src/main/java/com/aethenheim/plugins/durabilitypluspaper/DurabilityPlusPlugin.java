@@ -5,61 +5,119 @@ import com.aethenheim.plugins.durabilitypluspaper.cmd.DurabilityTabCompleter;
 import com.aethenheim.plugins.durabilitypluspaper.logic.DurabilityService;
 import com.aethenheim.plugins.durabilitypluspaper.logic.LoreUtil;
 import com.aethenheim.plugins.durabilitypluspaper.logic.MaterialMatcher;
+import com.aethenheim.plugins.durabilitypluspaper.logic.NativeMaxDamage;
+import com.aethenheim.plugins.durabilitypluspaper.logic.decay.RustDecay;
+import com.aethenheim.plugins.durabilitypluspaper.logic.elytra.ElytraWearListener;
+import com.aethenheim.plugins.durabilitypluspaper.logic.enchant.EnchantWear;
 import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.*;
 import com.aethenheim.plugins.durabilitypluspaper.logic.mending.MendingRebalanceListener;
+import com.aethenheim.plugins.durabilitypluspaper.logic.mob.MobEquipmentWear;
+import com.aethenheim.plugins.durabilitypluspaper.logic.notify.Notifications;
 import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenItemGuard;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
+import com.aethenheim.plugins.durabilitypluspaper.logic.pipeline.BlockPipeline;
+import com.aethenheim.plugins.durabilitypluspaper.logic.pipeline.CombatPipeline;
 import com.aethenheim.plugins.durabilitypluspaper.logic.repair.RepairStationsListener;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSessions;
 import com.aethenheim.plugins.durabilitypluspaper.logic.weather.WeatherWearTask;
 import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.TimingWheel;
 import com.aethenheim.plugins.durabilitypluspaper.logic.InventoryRefreshListener;
 
 import net.md_5.bungee.api.ChatColor;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.event.HandlerList;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class DurabilityPlusPlugin extends JavaPlugin {
 
+    private TimingWheel timers;
     private DurabilityService service;
     private LoreUtil loreUtil;
     private DegradationConfig dcfg;
+    private DegradationFactorCache factorCache;
+    private ProjectileFactorRegistry projectileFactors;
+    private MobEquipmentWear mobWear;
+    private NativeMaxDamage nativeMax;
+    private PlayerSessions sessions;
+    private Notifications notifications;
+    private EnchantWear enchantWear;
+    private RustDecay rustDecay;
     private WeatherWearTask weatherTask;
+    private ElytraWearListener elytraWear;
+    private CombatPipeline combat;
+    private BlockPipeline blocks;
 
     private MiningEffectListener miningEffectL;
     private MiningDelayListener miningDelayL;
-    private MiningAnimationHelper miningAnim;
+    private MiningAttributeListener miningAttributeL;
+    private WeaponAttributeListener weaponAttributeL;
+    private WeaponDamageListener weaponDamageL;
+    private ArmorProtectionListener armorProtectionL;
+    private CrackRenderer miningAnim;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
         PdcKeys.init(this);
+        BrokenState.configure(getConfig());
 
         printStartupBanner();
 
+        timers = new TimingWheel(this);
+        Bukkit.getPluginManager().registerEvents(timers, this);
+
+        sessions = new PlayerSessions();
+        sessions.loadOnline();
+        Bukkit.getPluginManager().registerEvents(sessions, this);
+        notifications = new Notifications(this);
+
         MaterialMatcher matcher = new MaterialMatcher(getConfig());
         service = new DurabilityService(this, matcher);
+        nativeMax = new NativeMaxDamage(this);
+        nativeMax.reload();
         loreUtil = new LoreUtil(this);
         dcfg = new DegradationConfig(this);
+        rustDecay = new RustDecay(getConfig());
+        enchantWear = new EnchantWear(getConfig(), getLogger());
+        factorCache = new DegradationFactorCache(this);
 
         Bukkit.getPluginManager().registerEvents(service, this);
+        Bukkit.getPluginManager().registerEvents(factorCache, this);
+
+        projectileFactors = new ProjectileFactorRegistry();
+        Bukkit.getPluginManager().registerEvents(projectileFactors, this);
 
         if (dcfg.isEnabled()) {
-            if (dcfg.weaponDamageEnabled()) {
-                Bukkit.getPluginManager().registerEvents(new WeaponDamageListener(this, dcfg), this);
-            }
-            if (dcfg.armorProtectionEnabled()){
-                Bukkit.getPluginManager().registerEvents(new ArmorProtectionListener(this, dcfg), this);
-            }
+            applyCombatListeners();
             applyMiningModeListener();
         }
 
-        Bukkit.getPluginManager().registerEvents(new BrokenItemGuard(this), this);
+        BrokenItemGuard guard = new BrokenItemGuard(this);
+        Bukkit.getPluginManager().registerEvents(guard, this);
+
+        mobWear = new MobEquipmentWear(this);
+        Bukkit.getPluginManager().registerEvents(mobWear, this);
+
+        combat = new CombatPipeline(this, mobWear);
+        combat.compile();
+        Bukkit.getPluginManager().registerEvents(combat, this);
+
+        blocks = new BlockPipeline(this);
+        blocks.compile(miningDelayL, miningEffectL);
+        Bukkit.getPluginManager().registerEvents(blocks, this);
+
         Bukkit.getPluginManager().registerEvents(new RepairStationsListener(this), this);
         Bukkit.getPluginManager().registerEvents(new MendingRebalanceListener(this), this);
 
         Bukkit.getPluginManager().registerEvents(new InventoryRefreshListener(this, loreUtil), this);
 
+        elytraWear = new ElytraWearListener(this);
+        Bukkit.getPluginManager().registerEvents(elytraWear, this);
+
         startWeatherTask();
 
         if (getCommand("durabilityplus") != null) {
@@ -73,26 +131,58 @@ public final class DurabilityPlusPlugin extends JavaPlugin {
     @Override
     public void onDisable() {
         stopWeatherTask();
+        if (elytraWear != null) elytraWear.shutdown();
+        if (projectileFactors != null) projectileFactors.persistAll();
+        if (mobWear != null) mobWear.shutdown();
         if (miningEffectL != null) HandlerList.unregisterAll(miningEffectL);
-        if (miningDelayL != null) HandlerList.unregisterAll(miningDelayL);
-        miningEffectL = null;
-        miningDelayL = null;
-        miningAnim = null;
-
         if (miningDelayL != null) {
+            HandlerList.unregisterAll(miningDelayL);
             miningDelayL.shutdown();
         }
+        if (miningAttributeL != null) {
+            HandlerList.unregisterAll(miningAttributeL);
+            miningAttributeL.shutdown();
+        }
+        if (weaponAttributeL != null) {
+            HandlerList.unregisterAll(weaponAttributeL);
+            weaponAttributeL.shutdown();
+        }
+        miningEffectL = null;
+        miningDelayL = null;
+        miningAttributeL = null;
+        weaponAttributeL = null;
+        miningAnim = null;
+        if (notifications != null) notifications.shutdown();
+        if (sessions != null) sessions.clear();
+        if (timers != null) timers.shutdown();
 
         Bukkit.getConsoleSender().sendMessage(ChatColor.DARK_AQUA + "[DurabilityPlus] " + ChatColor.GRAY + "disabled.");
     }
 
+    public TimingWheel getTimers() { return timers; }
+    public PlayerSessions getSessions() { return sessions; }
+    public Notifications getNotifications() { return notifications; }
     public DurabilityService getService() { return service; }
     public LoreUtil getLoreUtil() { return loreUtil; }
     public DegradationConfig getDegradationConfig() { return dcfg; }
+    public RustDecay getRustDecay() { return rustDecay; }
+    public DegradationFactorCache getFactorCache() { return factorCache; }
+    public ProjectileFactorRegistry getProjectileFactors() { return projectileFactors; }
+    public NativeMaxDamage getNativeMaxDamage() { return nativeMax; }
+    public EnchantWear getEnchantWear() { return enchantWear; }
+
+    /** Re-evaluate the held-item attribute modifiers (after the plugin changed durability itself). */
+    public void refreshHeldModifiers(Player p) {
+        ItemStack held = p.getInventory().getItemInMainHand();
+        if (miningAttributeL != null) miningAttributeL.refresh(p, held, 0);
+        if (weaponAttributeL != null) weaponAttributeL.refresh(p, held, 0);
+    }
 
 
     public void reloadAll() {
         reloadConfig();
+        BrokenState.configure(getConfig());
+        notifications.reload();
 
         if (service == null) {
             service = new DurabilityService(this, new MaterialMatcher(getConfig()));
@@ -101,13 +191,23 @@ public final class DurabilityPlusPlugin extends JavaPlugin {
         }
 
         service.getMatcher().clearCache();
+        nativeMax.reload();
+        nativeMax.syncOnline(); // rescale to the new table (or back to vanilla)
 
         dcfg = new DegradationConfig(this);
+        rustDecay = new RustDecay(getConfig());
+        enchantWear = new EnchantWear(getConfig(), getLogger());
+        factorCache.clear();
+        applyCombatListeners();
+        if (mobWear != null) mobWear.reload();
+        if (elytraWear != null) elytraWear.reload();
+        if (combat != null) combat.compile();
 
         stopWeatherTask();
         startWeatherTask();
 
         applyMiningModeListener();
+        if (blocks != null) blocks.compile(miningDelayL, miningEffectL);
         normalizeBrokenFlagsAfterReload();
     }
 
@@ -183,15 +283,40 @@ public final class DurabilityPlusPlugin extends JavaPlugin {
             if (pdc.has(PdcKeys.BROKEN, org.bukkit.persistence.PersistentDataType.BYTE)) {
                 pdc.remove(PdcKeys.BROKEN);
                 item.setItemMeta(meta);
+                BrokenState.restore(item);
                 getLoreUtil().updateLore(item);
             }
         } catch (Throwable ignored) {}
     }
     
+    private void applyCombatListeners() {
+        // remove any previous weapon/armor listeners (shutdown strips the ATTACK_DAMAGE modifiers)
+        if (weaponDamageL != null) { HandlerList.unregisterAll(weaponDamageL); weaponDamageL = null; }
+        if (weaponAttributeL != null) { HandlerList.unregisterAll(weaponAttributeL); weaponAttributeL.shutdown(); weaponAttributeL = null; }
+        if (armorProtectionL != null) { HandlerList.unregisterAll(armorProtectionL); armorProtectionL = null; }
+
+        if (!dcfg.isEnabled()) return;
+
+        if (dcfg.weaponDamageEnabled()) {
+            weaponDamageL = new WeaponDamageListener(this, dcfg);
+            Bukkit.getPluginManager().registerEvents(weaponDamageL, this);
+            if (dcfg.weaponModeAttribute()) {
+                weaponAttributeL = new WeaponAttributeListener(this, dcfg);
+                Bukkit.getPluginManager().registerEvents(weaponAttributeL, this);
+                weaponAttributeL.refreshAll();
+            }
+        }
+        if (dcfg.armorProtectionEnabled()) {
+            armorProtectionL = new ArmorProtectionListener(this, dcfg);
+            Bukkit.getPluginManager().registerEvents(armorProtectionL, this);
+        }
+    }
+
     private void applyMiningModeListener() {
         // remove any previous mining listeners
         if (miningEffectL != null) { HandlerList.unregisterAll(miningEffectL); miningEffectL = null; }
-        if (miningDelayL != null) { HandlerList.unregisterAll(miningDelayL); miningDelayL = null; }
+        if (miningDelayL != null) { HandlerList.unregisterAll(miningDelayL); miningDelayL.shutdown(); miningDelayL = null; }
+        if (miningAttributeL != null) { HandlerList.unregisterAll(miningAttributeL); miningAttributeL.shutdown(); miningAttributeL = null; }
         miningAnim = null;
 
         if (!dcfg.isEnabled() || !dcfg.miningEnabled()) return;
@@ -199,14 +324,21 @@ public final class DurabilityPlusPlugin extends JavaPlugin {
         if (dcfg.miningModeEffect()) {
             miningEffectL = new MiningEffectListener(this, dcfg);
             Bukkit.getPluginManager().registerEvents(miningEffectL, this);
+        } else if (dcfg.miningModeAttribute()) {
+            miningAttributeL = new MiningAttributeListener(this, dcfg);
+            Bukkit.getPluginManager().registerEvents(miningAttributeL, this);
+            miningAttributeL.refreshAll();
         } else {
-            if (dcfg.syncAnimation() && isProtocolLibPresent()) {
-                miningAnim = new MiningAnimationHelper(this);
-                getLogger().info("[DurabilityPlus] ProtocolLib detected — mining crack animation enabled.");
-            } else if (dcfg.syncAnimation()) {
-                getLogger().info("[DurabilityPlus] syncAnimation=true but ProtocolLib not found; continuing without animation.");
+            // ProtocolLib is optional: the native backend uses Paper API only
+            boolean useProtocolLib = dcfg.visualBackendProtocolLib() && isProtocolLibPresent();
+            if (dcfg.visualBackendProtocolLib() && !useProtocolLib) {
+                getLogger().info("[DurabilityPlus] visuals.backend=protocollib but ProtocolLib not found; using native backend.");
+            }
+            if (dcfg.syncAnimation()) {
+                miningAnim = useProtocolLib ? new MiningAnimationHelper(this) : new NativeCrackRenderer();
+                getLogger().info("[DurabilityPlus] Mining crack animation enabled (" + (useProtocolLib ? "ProtocolLib" : "native") + ").");
             }
-            miningDelayL = new MiningDelayListener(this, dcfg, miningAnim);
+            miningDelayL = new MiningDelayListener(this, dcfg, miningAnim, useProtocolLib);
             Bukkit.getPluginManager().registerEvents(miningDelayL, this);
         }
     }
@@ -1,8 +1,13 @@
 package com.aethenheim.plugins.durabilitypluspaper.logic;
 
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
 import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.enchant.EnchantWear;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSession;
 import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
 import com.aethenheim.plugins.durabilitypluspaper.logic.util.SalvageUtil;
+import io.papermc.paper.datacomponent.DataComponentTypes;
 
 import org.bukkit.*;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -10,11 +15,9 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.inventory.PrepareAnvilEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
 import org.bukkit.event.player.PlayerItemDamageEvent;
-import org.bukkit.event.player.PlayerItemMendEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
@@ -22,10 +25,7 @@ import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Random;
-import java.util.UUID;
 
 import static org.bukkit.Registry.*;
 
@@ -36,12 +36,7 @@ public class DurabilityService implements Listener {
     private MaterialMatcher matcher;
     private final Random rng = new Random();
 
-    // Wrong-tool tracking (consumed on next durability event)
-    private final Map<UUID, Boolean> lastWrongToolBlock = new HashMap<>();
-    private final Map<UUID, Boolean> lastWrongToolCombat = new HashMap<>();
-
-    // Cooldown to avoid spamming the low-durability ping sound
-    private final Map<UUID, Long> pingCooldown = new HashMap<>();
+    // Wrong-tool marks, the ping cooldown and open wear batches live in the player's session
 
     public DurabilityService(DurabilityPlusPlugin plugin, MaterialMatcher matcher) {
         this.plugin = plugin;
@@ -57,6 +52,19 @@ public class DurabilityService implements Listener {
         ItemStack item = e.getItem();
         if (item == null || item.getType() == Material.AIR) return;
 
+        // An open batch takes the damage; it is written once on commit
+        PlayerSession session = plugin.getSessions().get(p);
+        WearBatch batch = session.batch();
+        if (batch != null && batch.owns(item)) {
+            batch.recordEventDamage(baseDamage(e, item));
+            e.setCancelled(true);
+            return;
+        }
+
+        // Native mode: vanilla's damage already carries the multiplier; only hits that need
+        // more than that (edge, wrong tool, enchantment factors) go through the full handler
+        if (nativeFastPath(p, session, item, e.getDamage())) return;
+
         FileConfiguration cfg = plugin.getConfig();
 
         // Armor include toggle
@@ -64,21 +72,27 @@ public class DurabilityService implements Listener {
             return;
         }
 
-        // Base factor (global → per-item/elytra → per-world → donor)
-        double factor = effectiveMultiplier(p, item.getType());
+        // Catch up on any age-based rust before this hit is scaled
+        plugin.getRustDecay().apply(item);
+
+        // Base factor (global → per-item/elytra → per-world → donor). In native mode the static
+        // part is already in the item's max durability; only the rest is applied here.
+        NativeMaxDamage nativeMax = plugin.getNativeMaxDamage();
+        double builtIn = nativeMax.sync(item);
+        double factor = (builtIn != 1.0 && nativeMax.coversFully(item))
+                ? 1.0
+                : effectiveMultiplier(p, item.getType()) / builtIn;
 
         // Wrong-tool: blocks (applies once per break)
         if (cfg.getBoolean("wrongTool.blocks.enabled", true)) {
-            Boolean bad = lastWrongToolBlock.remove(p.getUniqueId());
-            if (Boolean.TRUE.equals(bad)) {
+            if (session.takeWrongToolBlock()) {
                 factor *= cfg.getDouble("wrongTool.blocks.multiplier", 1.0);
             }
         }
 
         // Wrong-tool: combat (applies once per hit)
         if (cfg.getBoolean("wrongTool.combat.enabled", true)) {
-            Boolean bad = lastWrongToolCombat.remove(p.getUniqueId());
-            if (Boolean.TRUE.equals(bad)) {
+            if (session.takeWrongToolCombat()) {
                 factor *= cfg.getDouble("wrongTool.combat.multiplier", 1.0);
             }
         }
@@ -90,8 +104,7 @@ public class DurabilityService implements Listener {
         }
 
         // Expected damage scaling via fractional roll
-        int baseDamage = e.getDamage(); // usually 1
-        double expected = baseDamage * factor;
+        double expected = baseDamage(e, item) * factor;
         int out = (int) Math.floor(expected);
         double frac = expected - out;
         if (rng.nextDouble() < frac) out++;
@@ -102,33 +115,14 @@ public class DurabilityService implements Listener {
             // Non-damageable (shouldn't happen for this event)
             return;
         }
-        int max = item.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(item);
         int currentDamage = dMeta.getDamage();
 
         // If autoProtect is enabled and this hit would break the item:
         if (cfg.getBoolean("autoProtect.enabled", true) && max > 0 && currentDamage + out >= max) {
             // Stop this damage from applying; clamp to max-1 and mark BROKEN
             e.setCancelled(true);
-            dMeta.setDamage(Math.max(0, max - 1));
-
-            // Mark broken on the item PDC (so other parts of the plugin can respect it)
-            try {
-                var pdc = meta.getPersistentDataContainer();
-                pdc.set(PdcKeys.BROKEN, PersistentDataType.BYTE, (byte) 1);
-            } catch (Throwable ignored) {}
-            item.setItemMeta(meta);
-
-            // Notify player (longer action-bar)
-            notifyBroken(p);
-
-            // Update lore
-            plugin.getLoreUtil().updateLore(item);
-
-            // Optional: also drop salvage if configured to do so
-            if (cfg.getBoolean("salvage.enabled", false)
-                    && cfg.getBoolean("salvage.alsoOnAutoProtect", false)) {
-                SalvageUtil.tryDropSalvage(cfg, p, item);
-            }
+            protectAtEdge(p, item, meta, dMeta);
             return;
         }
         // If not auto-protect, but this hit will break the item, drop salvage first
@@ -150,93 +144,164 @@ public class DurabilityService implements Listener {
         // After the event runs, update lore & possibly ping
         Bukkit.getScheduler().runTask(plugin, () -> {
             plugin.getLoreUtil().updateLore(item);
-            tryLowDurabilityPing(p, item);
+            plugin.getNotifications().lowDurability(p, item);
         });
     }
-    public void setMatcher(MaterialMatcher matcher) {
-        this.matcher = matcher;
+
+    /**
+     * True if vanilla's damage can stand as is: the item's multiplier is fully built into its
+     * MAX_DAMAGE, no wrong-tool mark or enchantment factor applies and the hit stays clear of the
+     * protected edge. Lore and the low-durability ping are refreshed once per percent step
+     * instead of per hit; rust catches up the next time the item is loaded or refreshed.
+     */
+    private boolean nativeFastPath(Player p, PlayerSession session, ItemStack item, int damage) {
+        if (!plugin.getNativeMaxDamage().isCurrent(item)) return false;
+        if (session.hasWrongToolMark() || plugin.getEnchantWear().isEnabled()) return false;
+
+        int max = ItemUtil.maxDurability(item);
+        Integer current = item.getData(DataComponentTypes.DAMAGE);
+        int before = current != null ? current : 0;
+        int after = before + damage;
+        if (after >= max - 1) return false;
+
+        if (percentStep(before, max) != percentStep(after, max)) {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                plugin.getLoreUtil().updateLore(item);
+                plugin.getNotifications().lowDurability(p, item);
+            });
+        }
+        return true;
     }
-    /* =========================================================
-       LONGER ACTION-BAR BROKEN NOTICE
-       ========================================================= */
-    private void notifyBroken(Player p) {
-        var cfg = plugin.getConfig();
-        if (!cfg.getBoolean("autoProtect.notifyOnUse", true)) return;
 
-        String mode = cfg.getString("autoProtect.notifyMode", "actionbar").toLowerCase();
-        String msg = "Your item is broken and needs repair.";
+    /** Remaining durability rounded to a whole percent (same rounding as the lore). */
+    private static int percentStep(int damage, int max) {
+        return Math.round(Math.max(0, max - damage) * 100f / max);
+    }
 
-        if ("chat".equals(mode)) {
-            p.sendMessage("§c" + msg);
-            return;
-        }
+    /**
+     * Damage before our multipliers: vanilla's (after its Unbreaking roll), or with enchantWear on,
+     * the damage before Unbreaking times the configured enchantment factor.
+     */
+    private double baseDamage(PlayerItemDamageEvent e, ItemStack item) {
+        EnchantWear enchants = plugin.getEnchantWear();
+        if (!enchants.isEnabled()) return e.getDamage(); // usually 1
+        return e.getOriginalDamage() * enchants.factor(item, isArmorItem(item.getType()));
+    }
 
-        // ACTION BAR — re-send for ~3s so players can read it
+    /** Clamp to the last point, mark BROKEN, notify and optionally drop salvage (auto-protect). */
+    private void protectAtEdge(Player p, ItemStack item, ItemMeta meta, Damageable dMeta) {
+        FileConfiguration cfg = plugin.getConfig();
+        int max = ItemUtil.maxDurability(item);
+        dMeta.setDamage(Math.max(0, max - 1));
+
+        // Mark broken on the item PDC (so other parts of the plugin can respect it)
         try {
-            var tc = new net.md_5.bungee.api.chat.TextComponent("§c" + msg);
-            final int period = 20; // 1s
-            final int total = 60; // 3s
-            final int[] ran = {0};
-
-            var task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-                if (!p.isOnline() || ran[0] >= total) return;
-                p.spigot().sendMessage(net.md_5.bungee.api.ChatMessageType.ACTION_BAR, tc);
-                ran[0] += period;
-            }, 0L, period);
-
-            Bukkit.getScheduler().runTaskLater(plugin, task::cancel, total);
-        } catch (Throwable ignored) {
-            p.sendMessage("§c" + msg);
+            var pdc = meta.getPersistentDataContainer();
+            pdc.set(PdcKeys.BROKEN, PersistentDataType.BYTE, (byte) 1);
+        } catch (Throwable ignored) {}
+        item.setItemMeta(meta);
+        BrokenState.apply(item);
+
+        // Notify player (longer action-bar)
+        plugin.getNotifications().broken(p);
+
+        // Update lore
+        plugin.getLoreUtil().updateLore(item);
+        plugin.getFactorCache().invalidate(p);
+
+        // Optional: also drop salvage if configured to do so
+        if (cfg.getBoolean("salvage.enabled", false)
+                && cfg.getBoolean("salvage.alsoOnAutoProtect", false)) {
+            SalvageUtil.tryDropSalvage(cfg, p, item);
         }
     }
 
     /* =========================================================
-       LOW-DURABILITY PING
+       BATCHED WEAR (area / vein mining integrations)
        ========================================================= */
-    private void tryLowDurabilityPing(Player p, ItemStack item) {
-        var cfg = plugin.getConfig();
-        if (!cfg.getBoolean("lowDurabilityPing.enabled", true)) return;
-
-        int max = item.getType().getMaxDurability();
-        if (max <= 0) return;
-
-        ItemMeta meta = item.getItemMeta();
-        if (!(meta instanceof Damageable dMeta)) return;
 
-        int remaining = Math.max(0, max - dMeta.getDamage());
-        int percent = Math.round(remaining * 100f / max);
+    /**
+     * Open a wear batch for the player's main-hand tool. While it is open, damage events for that
+     * tool and block-break wrong-tool marks are collected by the batch instead of being applied
+     * one by one; {@link WearBatch#commit()} then writes the sum once (one damage write, one lore
+     * update, one ping check).
+     *
+     * @throws IllegalStateException if the player already has an open batch
+     */
+    public WearBatch beginBatch(Player p) {
+        PlayerSession session = plugin.getSessions().get(p);
+        if (session.batch() != null) {
+            throw new IllegalStateException("A wear batch is already open for " + p.getName());
+        }
+        ItemStack tool = p.getInventory().getItemInMainHand();
+        plugin.getRustDecay().apply(tool);
 
-        int threshold = cfg.getInt("lowDurabilityPing.thresholdPercent", 5);
-        if (percent > threshold) return;
+        FileConfiguration cfg = plugin.getConfig();
+        double wrongTool = cfg.getBoolean("wrongTool.blocks.enabled", true)
+                ? cfg.getDouble("wrongTool.blocks.multiplier", 1.0)
+                : 1.0;
+        double base = tool.getType().isAir() ? 1.0
+                : effectiveMultiplier(p, tool.getType()) / plugin.getNativeMaxDamage().sync(tool);
+
+        WearBatch batch = new WearBatch(this, p, tool, base, wrongTool);
+        session.setBatch(batch);
+        return batch;
+    }
 
-        // per-player toggle via PDC
-        Byte disabled = p.getPersistentDataContainer().get(
-                PdcKeys.PING_DISABLED, PersistentDataType.BYTE);
-        if (disabled != null && disabled == (byte) 1) return;
+    void endBatch(WearBatch batch) {
+        PlayerSession session = plugin.getSessions().get(batch.player());
+        if (session.batch() == batch) session.setBatch(null);
+    }
 
-        int cooldownSec = Math.max(0, cfg.getInt("lowDurabilityPing.cooldownSeconds", 10));
-        long now = System.currentTimeMillis();
-        Long last = pingCooldown.get(p.getUniqueId());
-        if (last != null && (now - last) < cooldownSec * 1000L) return;
-        pingCooldown.put(p.getUniqueId(), now);
+    /** Whole points for {@code expected}, rolling the fractional part like the damage handler. */
+    int roll(double expected) {
+        int out = (int) Math.floor(expected);
+        if (rng.nextDouble() < expected - out) out++;
+        return out;
+    }
 
-        String soundName = cfg.getString("lowDurabilityPing.sound", "ENTITY_EXPERIENCE_ORB_PICKUP");
-        float vol = (float) cfg.getDouble("lowDurabilityPing.volume", 1.0);
-        float pit = (float) cfg.getDouble("lowDurabilityPing.pitch", 1.0);
+    /**
+     * Write {@code points} of wear to {@code item} directly (no damage event).
+     * Honours auto-protect and salvage like the damage handler, and breaks the item when
+     * auto-protect is off.
+     *
+     * @return false if the item reached its protected edge or broke
+     */
+    boolean writeWear(Player p, ItemStack item, int points) {
+        if (points <= 0) return true;
+        ItemMeta meta = item.getItemMeta();
+        if (!(meta instanceof Damageable dMeta) || dMeta.isUnbreakable()) return true;
 
-        try {
-            NamespacedKey key = NamespacedKey.fromString(soundName.toUpperCase());
-            if (key == null) {
-                key = NamespacedKey.minecraft(soundName.toLowerCase());
+        FileConfiguration cfg = plugin.getConfig();
+        int max = ItemUtil.maxDurability(item);
+        if (max <= 0) return true;
+        int next = dMeta.getDamage() + points;
+
+        if (next >= max) {
+            if (cfg.getBoolean("autoProtect.enabled", true)) {
+                protectAtEdge(p, item, meta, dMeta);
+            } else {
+                if (cfg.getBoolean("salvage.enabled", true)) SalvageUtil.tryDropSalvage(cfg, p, item);
+                Bukkit.getPluginManager().callEvent(new PlayerItemBreakEvent(p, item));
+                // Remove this stack wherever it is now (the player may have switched slots)
+                item.setAmount(0);
+                p.broadcastSlotBreak(EquipmentSlot.HAND);
             }
-            org.bukkit.Sound s = Registry.SOUNDS.get(key);
-            p.playSound(p.getLocation(), s, vol, pit);
-        } catch (IllegalArgumentException ex) {
-            p.playSound(p.getLocation(), org.bukkit.Sound.ENTITY_EXPERIENCE_ORB_PICKUP, vol, pit);
+            return false;
         }
+
+        dMeta.setDamage(next);
+        item.setItemMeta(meta);
+        plugin.getLoreUtil().updateLore(item);
+        plugin.getFactorCache().invalidate(p);
+        plugin.getNotifications().lowDurability(p, item);
+        return true;
+    }
+    public void setMatcher(MaterialMatcher matcher) {
+        this.matcher = matcher;
     }
 
-    private boolean isArmorItem(Material m) {
+    boolean isArmorItem(Material m) {
         String n = m.name();
         return n.endsWith("_HELMET")
                 || n.endsWith("_CHESTPLATE")
@@ -262,52 +327,14 @@ public class DurabilityService implements Listener {
         }
     }
 
-    // Mending rebalance (and optionally block on Elytra via repairable=false)
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onItemMend(PlayerItemMendEvent e) {
-        var cfg = plugin.getConfig();
-        if (!cfg.getBoolean("elytra.repairable", true) && e.getItem().getType() == Material.ELYTRA) {
-            e.setCancelled(true);
-            return;
-        }
-        double factor = cfg.getDouble("mending.factor", 1.0);
-        if (factor <= 0.0) {
-            e.setCancelled(true);
-            return;
-        }
-        int amt = e.getRepairAmount();
-        int scaled = (int) Math.floor(amt * factor);
-        if (scaled <= 0) {
-            e.setCancelled(true);
-        } else if (scaled != amt) {
-            e.setRepairAmount(scaled);
-        }
-    }
-
     /* =========================================================
        MULTIPLIER RESOLUTION
        ========================================================= */
-    private double effectiveMultiplier(Player p, Material mat) {
+    public double effectiveMultiplier(Player p, Material mat) {
         FileConfiguration cfg = plugin.getConfig();
 
-        // 1) base = global
-        double base = cfg.getDouble("globalMultiplier", 1.0);
-
-        // 2) per-item (includes wildcard) with Elytra override
-        if (mat == Material.ELYTRA) {
-            base = matcher.resolve(mat, cfg.getDouble("elytra.multiplier", base));
-        } else {
-            base = matcher.resolve(mat, base);
-        }
-
-        // 3) per-world (MULTIPLICATIVE)
-        var worldMap = cfg.getConfigurationSection("perWorldMultipliers");
-        if (worldMap != null) {
-            String w = p.getWorld().getName();
-            if (worldMap.isDouble(w)) {
-                base *= worldMap.getDouble(w);
-            }
-        }
+        // 1-3) global → per-item/elytra → per-world
+        double base = baseMultiplier(p.getWorld(), mat);
 
         // 4) donor permission bonuses (first match wins; MULTIPLICATIVE)
         var donor = cfg.getConfigurationSection("donorBonuses");
@@ -323,32 +350,60 @@ public class DurabilityService implements Listener {
         return base;
     }
 
-    /* =========================================================
-       WRONG-TOOL DETECTION MARKERS
-       ========================================================= */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onBlockBreak(BlockBreakEvent e) {
-        if (!plugin.getConfig().getBoolean("wrongTool.blocks.enabled", true)) return;
+    /**
+     * Multiplier without player-specific parts (global → per-item/elytra → per-world).
+     * Used directly for non-player wearers such as mobs.
+     */
+    public double baseMultiplier(World world, Material mat) {
+        FileConfiguration cfg = plugin.getConfig();
 
-        Player p = e.getPlayer();
-        ItemStack item = p.getInventory().getItemInMainHand();
-        if (item == null || item.getType().isAir()) return;
+        // 1-2) global → per-item/elytra
+        double base = staticMultiplier(mat);
 
-        boolean effective = isEffectiveToolForBlock(item.getType(), e.getBlock().getType());
-        lastWrongToolBlock.put(p.getUniqueId(), !effective);
+        // 3) per-world (MULTIPLICATIVE)
+        var worldMap = cfg.getConfigurationSection("perWorldMultipliers");
+        if (worldMap != null) {
+            String w = world.getName();
+            if (worldMap.isDouble(w)) {
+                base *= worldMap.getDouble(w);
+            }
+        }
+        return base;
     }
 
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onHit(EntityDamageByEntityEvent e) {
-        if (!plugin.getConfig().getBoolean("wrongTool.combat.enabled", true)) return;
-        if (!(e.getDamager() instanceof Player p)) return;
+    /** The part of the multiplier that depends on the material only (global → per-item/elytra). */
+    public double staticMultiplier(Material mat) {
+        FileConfiguration cfg = plugin.getConfig();
+
+        // 1) base = global
+        double base = cfg.getDouble("globalMultiplier", 1.0);
+
+        // 2) per-item (includes wildcard) with Elytra override
+        if (mat == Material.ELYTRA) {
+            return matcher.resolve(mat, cfg.getDouble("elytra.multiplier", base));
+        }
+        return matcher.resolve(mat, base);
+    }
 
-        ItemStack item = p.getInventory().getItemInMainHand();
-        if (item == null || item.getType().isAir()) return;
+    /* =========================================================
+       WRONG-TOOL DETECTION MARKERS
+       ========================================================= */
+    /** Block wrong-tool mark for the next durability event (called by the block pipeline). */
+    public void markBlockBreak(Player p, boolean wrongTool) {
+        PlayerSession session = plugin.getSessions().get(p);
+        WearBatch batch = session.batch();
+        if (batch != null) {
+            batch.markWrongTool(wrongTool); // consumed by the batch's next damage event
+            return;
+        }
+        session.markWrongToolBlock(wrongTool);
+    }
 
+    /** Combat wrong-tool mark for the next durability event (called by the combat pipeline). */
+    public void markCombatHit(Player p, Material hand) {
         boolean treatAxeAsWeapon = plugin.getConfig().getBoolean("wrongTool.combat.treatAxeAsWeapon", true);
-        boolean isWeapon = isWeaponItem(item.getType(), treatAxeAsWeapon);
-        lastWrongToolCombat.put(p.getUniqueId(), !isWeapon);
+        boolean isWeapon = isWeaponItem(hand, treatAxeAsWeapon);
+        plugin.getSessions().get(p).markWrongToolCombat(!isWeapon);
     }
 
     private boolean isWeaponItem(Material m, boolean treatAxeAsWeapon) {
@@ -358,23 +413,6 @@ public class DurabilityService implements Listener {
         return n.equals("BOW") || n.equals("CROSSBOW") || n.equals("TRIDENT");
     }
 
-    private boolean isEffectiveToolForBlock(Material tool, Material block) {
-        // Heuristic using Bukkit tags; fast and accurate for vanilla behavior
-        boolean mineablePick = Tag.MINEABLE_PICKAXE.isTagged(block);
-        boolean mineableShovel = Tag.MINEABLE_SHOVEL.isTagged(block);
-        boolean mineableAxe = Tag.MINEABLE_AXE.isTagged(block);
-        boolean mineableHoe = Tag.MINEABLE_HOE.isTagged(block);
-
-        String t = tool.name();
-        if (mineablePick) return t.endsWith("_PICKAXE");
-        if (mineableShovel) return t.endsWith("_SHOVEL");
-        if (mineableAxe) return t.endsWith("_AXE");
-        if (mineableHoe) return t.endsWith("_HOE");
-
-        // If block has no clear mineable tag, assume OK to avoid false positives
-        return true;
-    }
-
     /* =========================================================
        COMMAND HELPERS (EDITED: clear BROKEN + remove Unbreakable)
        ========================================================= */
@@ -383,7 +421,7 @@ public class DurabilityService implements Listener {
         if (item == null) return false;
         var meta = item.getItemMeta();
         if (!(meta instanceof Damageable d)) return false;
-        int max = item.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(item);
         if (max <= 0) return false;
 
         int damage = Math.max(0, d.getDamage() - amount);
@@ -394,7 +432,9 @@ public class DurabilityService implements Listener {
         try { meta.getPersistentDataContainer().remove(PdcKeys.BROKEN); } catch (Throwable ignored) {}
 
         item.setItemMeta(meta);
+        BrokenState.restore(item);
         plugin.getLoreUtil().updateLore(item);
+        plugin.getFactorCache().invalidate(p);
         return true;
     }
 
@@ -403,7 +443,7 @@ public class DurabilityService implements Listener {
         if (item == null) return false;
         var meta = item.getItemMeta();
         if (!(meta instanceof Damageable d)) return false;
-        int max = item.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(item);
         if (max <= 0) return false;
 
         int damage = Math.min(max, d.getDamage() + amount);
@@ -413,7 +453,9 @@ public class DurabilityService implements Listener {
             try { meta.getPersistentDataContainer().set(PdcKeys.BROKEN, PersistentDataType.BYTE, (byte)1); } catch (Throwable ignored) {}
         }
         item.setItemMeta(meta);
+        if (BrokenState.isBroken(item)) BrokenState.apply(item);
         plugin.getLoreUtil().updateLore(item);
+        plugin.getFactorCache().invalidate(p);
         return true;
     }
 
@@ -422,7 +464,7 @@ public class DurabilityService implements Listener {
         if (item == null) return false;
         var meta = item.getItemMeta();
         if (!(meta instanceof Damageable d)) return false;
-        int max = item.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(item);
         if (max <= 0) return false;
 
         int clampedRemaining = Math.max(0, Math.min(max, remaining));
@@ -434,7 +476,9 @@ public class DurabilityService implements Listener {
         try { meta.getPersistentDataContainer().remove(PdcKeys.BROKEN); } catch (Throwable ignored) {}
 
         item.setItemMeta(meta);
+        BrokenState.restore(item);
         plugin.getLoreUtil().updateLore(item);
+        plugin.getFactorCache().invalidate(p);
         return true;
     }
 
@@ -443,7 +487,7 @@ public class DurabilityService implements Listener {
         if (item == null) return false;
         var meta = item.getItemMeta();
         if (!(meta instanceof Damageable d)) return false;
-        int max = item.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(item);
         if (max <= 0) return false;
 
         d.setDamage(0);
@@ -453,7 +497,9 @@ public class DurabilityService implements Listener {
         try { meta.getPersistentDataContainer().remove(PdcKeys.BROKEN); } catch (Throwable ignored) {}
 
         item.setItemMeta(meta);
+        BrokenState.restore(item);
         plugin.getLoreUtil().updateLore(item);
+        plugin.getFactorCache().invalidate(p);
         return true;
     }
 
@@ -474,6 +520,7 @@ public class DurabilityService implements Listener {
         for (ItemStack stack : inv.getContents()) {
             repaired += repairItem(stack);
         }
+        plugin.getFactorCache().invalidate(p);
         return repaired;
     }
 
@@ -481,7 +528,7 @@ public class DurabilityService implements Listener {
         if (item == null) return 0;
         var meta = item.getItemMeta();
         if (!(meta instanceof Damageable d)) return 0;
-        int max = item.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(item);
         if (max <= 0 || d.getDamage() == 0) return 0;
 
         d.setDamage(0);
@@ -491,6 +538,7 @@ public class DurabilityService implements Listener {
         try { meta.getPersistentDataContainer().remove(PdcKeys.BROKEN); } catch (Throwable ignored) {}
 
         item.setItemMeta(meta);
+        BrokenState.restore(item);
         plugin.getLoreUtil().updateLore(item);
         return 1;
     }
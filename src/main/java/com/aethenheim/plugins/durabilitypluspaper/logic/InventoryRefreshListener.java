@@ -25,17 +25,23 @@ public final class InventoryRefreshListener implements Listener {
 
     /* ------------ helpers ------------ */
 
-    private void refreshItem(ItemStack s) {
-        if (s == null || s.getType().isAir()) return;
+    /** @return true if rust changed the item (cached factors are stale) */
+    private boolean refreshItem(ItemStack s) {
+        if (s == null || s.getType().isAir()) return false;
+        boolean rusted = plugin.getRustDecay().apply(s);
+        plugin.getNativeMaxDamage().sync(s);
         lore.updateLore(s);
+        return rusted;
     }
 
     private void refreshAll(Player p) {
         var inv = p.getInventory();
-        for (ItemStack s : inv.getContents()) refreshItem(s);
-        for (ItemStack s : inv.getArmorContents()) refreshItem(s);
-        refreshItem(inv.getItemInOffHand());
-        refreshItem(inv.getItemInMainHand());
+        boolean changed = false;
+        for (ItemStack s : inv.getContents()) changed |= refreshItem(s);
+        for (ItemStack s : inv.getArmorContents()) changed |= refreshItem(s);
+        changed |= refreshItem(inv.getItemInOffHand());
+        changed |= refreshItem(inv.getItemInMainHand());
+        if (changed) plugin.getFactorCache().invalidate(p);
     }
 
     /* ------------ events ------------ */
@@ -56,7 +62,7 @@ public final class InventoryRefreshListener implements Listener {
     public void onHeld(PlayerItemHeldEvent e) {
         Bukkit.getScheduler().runTask(plugin, () -> {
             var p = e.getPlayer();
-            refreshItem(p.getInventory().getItemInMainHand());
+            if (refreshItem(p.getInventory().getItemInMainHand())) plugin.getFactorCache().invalidateWeapon(p);
         });
     }
 
@@ -8,6 +8,7 @@ import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.entity.Player;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
 import com.aethenheim.plugins.durabilitypluspaper.logic.util.*;
 
 import java.util.ArrayList;
@@ -65,7 +66,7 @@ public class LoreUtil {
                 return;
             }
         } else {
-            int max = item.getType().getMaxDurability();
+            int max = ItemUtil.maxDurability(item);
             if (max <= 0) return;
 
             int damage = dmgMeta.getDamage();
@@ -0,0 +1,149 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Native max-durability mode (performance.nativeMaxDamage).
+ *
+ * The static part of the multiplier (global → per-item/elytra) is folded into the item itself:
+ * an item with multiplier m >= 1 gets a MAX_DAMAGE component of vanillaMax / m, with its damage
+ * rescaled so the remaining percent is kept, and the m it was built for is stamped in its PDC.
+ * Vanilla then wears it at the configured rate; the damage handler only applies what is left
+ * (per-world, donor, wrong-tool), and skips the multiplier lookup entirely when nothing is.
+ *
+ * Items are stamped the first time the plugin touches them (damage, inventory refresh) and
+ * rescaled the same way when the table changed on reload, or restored when the mode is off.
+ * Items whose MAX_DAMAGE was set by someone else are left alone.
+ */
+public final class NativeMaxDamage {
+
+    private final DurabilityPlusPlugin plugin;
+
+    private boolean enabled;
+    /** Static multiplier folded into the item, by Material ordinal (0 = stays vanilla) */
+    private double[] scale = new double[0];
+    /** No per-world or donor multipliers configured: a stamped item needs no lookup at all */
+    private boolean fullyStatic;
+
+    public NativeMaxDamage(DurabilityPlusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /** Rebuild the table from the config (enable / reload; the service's matcher must be current). */
+    public void reload() {
+        FileConfiguration cfg = plugin.getConfig();
+        this.enabled = cfg.getBoolean("performance.nativeMaxDamage", false);
+        this.scale = new double[Material.values().length];
+        var worlds = cfg.getConfigurationSection("perWorldMultipliers");
+        var donors = cfg.getConfigurationSection("donorBonuses");
+        this.fullyStatic = (worlds == null || worlds.getKeys(false).isEmpty())
+                && (donors == null || donors.getKeys(false).isEmpty());
+        if (!enabled) return;
+
+        boolean includeArmor = cfg.getBoolean("includeArmor", true);
+        DurabilityService service = plugin.getService();
+        for (Material m : Material.values()) {
+            if (m.isLegacy() || !m.isItem() || m.getMaxDurability() <= 0) continue;
+            if (!includeArmor && service.isArmorItem(m)) continue;
+            double s = service.staticMultiplier(m);
+            if (s > 1.0 && Double.isFinite(s)) scale[m.ordinal()] = s;
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Whether a synced, rescaled item needs no further multiplier work in the damage handler. */
+    public boolean coversFully(ItemStack item) {
+        return enabled && fullyStatic && scale[item.getType().ordinal()] > 0.0;
+    }
+
+    /**
+     * {@link #coversFully} for an item already stamped for the current table, so the damage
+     * handler can let vanilla's damage stand without syncing it (reads the PDC view only).
+     */
+    public boolean isCurrent(ItemStack item) {
+        if (!coversFully(item)) return false;
+        Double stamp = item.getPersistentDataContainer().get(PdcKeys.MAX_DAMAGE_SCALE, PersistentDataType.DOUBLE);
+        return stamp != null && stamp == scale[item.getType().ordinal()];
+    }
+
+    /**
+     * Bring the item's MAX_DAMAGE in line with the current table.
+     * @return the part of the multiplier now built into the item (1.0 when it is vanilla)
+     */
+    public double sync(ItemStack item) {
+        if (item == null || item.isEmpty() || item.getType().getMaxDurability() <= 0) return 1.0;
+        Double stamp = item.getPersistentDataContainer().get(PdcKeys.MAX_DAMAGE_SCALE, PersistentDataType.DOUBLE);
+        double want = enabled ? scale[item.getType().ordinal()] : 0.0;
+
+        if (stamp == null) {
+            if (want <= 0.0) return 1.0;
+            // Someone else's max durability, or an unbreakable item: leave it
+            if (item.isDataOverridden(DataComponentTypes.MAX_DAMAGE) || item.hasData(DataComponentTypes.UNBREAKABLE)) return 1.0;
+        } else if (stamp == want) {
+            return builtIn(item);
+        }
+        rescale(item, want);
+        return builtIn(item);
+    }
+
+    /** Factor built into the item's max durability, without syncing it. */
+    public static double builtIn(ItemStack item) {
+        int vanilla = item.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(item);
+        return (vanilla > 0 && max > 0 && max != vanilla) ? (double) vanilla / max : 1.0;
+    }
+
+    /** Sync every online inventory (reload) and refresh lore where something changed. */
+    public void syncOnline() {
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            PlayerInventory inv = p.getInventory();
+            for (ItemStack s : inv.getContents()) syncAndRefresh(s);
+            for (ItemStack s : inv.getArmorContents()) syncAndRefresh(s);
+            syncAndRefresh(inv.getItemInOffHand());
+        }
+    }
+
+    private void syncAndRefresh(ItemStack item) {
+        if (item == null || item.isEmpty()) return;
+        int before = ItemUtil.maxDurability(item);
+        sync(item);
+        if (ItemUtil.maxDurability(item) != before) plugin.getLoreUtil().updateLore(item);
+    }
+
+    /** Set MAX_DAMAGE for {@code s} (<= 0: back to vanilla) and keep the remaining percent. */
+    private static void rescale(ItemStack item, double s) {
+        int vanilla = item.getType().getMaxDurability();
+        int oldMax = ItemUtil.maxDurability(item);
+        Integer d = item.getData(DataComponentTypes.DAMAGE);
+        int damage = d != null ? d : 0;
+        int newMax = s > 0.0 ? Math.max(1, (int) Math.round(vanilla / s)) : vanilla;
+
+        int newDamage;
+        if (damage > 0 && damage >= oldMax - 1) {
+            newDamage = newMax - 1; // stays on the protected edge
+        } else {
+            newDamage = (int) Math.round((double) damage * newMax / oldMax);
+            newDamage = Math.max(0, Math.min(newMax - 1, newDamage));
+        }
+
+        if (s > 0.0) {
+            item.setData(DataComponentTypes.MAX_DAMAGE, newMax);
+            item.editPersistentDataContainer(pdc -> pdc.set(PdcKeys.MAX_DAMAGE_SCALE, PersistentDataType.DOUBLE, s));
+        } else {
+            item.resetData(DataComponentTypes.MAX_DAMAGE);
+            item.editPersistentDataContainer(pdc -> pdc.remove(PdcKeys.MAX_DAMAGE_SCALE));
+        }
+        item.setData(DataComponentTypes.DAMAGE, newDamage);
+    }
+}
@@ -0,0 +1,176 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic;
+
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.ToolEffectiveness;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+
+import java.util.Objects;
+
+/**
+ * Durability accounting for one multi-block action (vein miner, hammer, tree feller...).
+ *
+ * Obtain one from {@link DurabilityService#beginBatch(Player)}, record the work, then
+ * {@link #commit()} (or use try-with-resources). Wear is rolled per record exactly like single
+ * events and summed; the tool is written once on commit. If the sum reaches the tool's edge
+ * mid-batch, auto-protect (or the break, when it is off) happens right away and the rest of
+ * the batch is ignored; {@link #isUsable()} tells the caller to stop.
+ *
+ * <pre>
+ * try (WearBatch batch = service.beginBatch(player)) {
+ *     for (Block b : vein) {
+ *         if (!batch.isUsable()) break;
+ *         player.breakBlock(b); // damage + wrong-tool marks are picked up by the batch
+ *     }
+ * }
+ * </pre>
+ */
+public final class WearBatch implements AutoCloseable {
+
+    private final DurabilityService service;
+    private final Player player;
+    private final ItemStack tool;  // live mirror of the stack in the hand slot at beginBatch
+    private final int slot;         // hotbar slot it was held in
+    private final double baseFactor;
+    private final double wrongToolMultiplier;
+
+    private final Tally tally;
+    private boolean pendingWrongTool; // set by a block break, consumed by the next damage event
+    private boolean open = true;
+
+    WearBatch(DurabilityService service, Player player, ItemStack tool, double baseFactor, double wrongToolMultiplier) {
+        this.service = service;
+        this.player = player;
+        this.tool = tool;
+        this.slot = player.getInventory().getHeldItemSlot();
+        this.baseFactor = baseFactor;
+        this.wrongToolMultiplier = wrongToolMultiplier;
+        this.tally = new Tally(
+                tool.getItemMeta() instanceof Damageable d && !d.isUnbreakable() ? d.getDamage() : -1,
+                ItemUtil.maxDurability(tool));
+    }
+
+    public Player player() { return player; }
+
+    /** Whole durability points recorded so far and not yet written. */
+    public int pendingPoints() { return tally.pending(); }
+
+    /** False once the batch is committed or the tool hit its edge. */
+    public boolean isUsable() { return open && !tally.settled(); }
+
+    /**
+     * Record one block broken with the batch tool (for integrations that remove blocks without
+     * firing damage events). Wrong-tool wear is resolved from the block type.
+     * @return {@link #isUsable()}
+     */
+    public boolean recordBlock(Material block) {
+        return record(1, !ToolEffectiveness.isEffective(tool.getType(), block));
+    }
+
+    public boolean recordBlock(Block block) {
+        return recordBlock(block.getType());
+    }
+
+    /**
+     * Record raw tool damage (before our multipliers), e.g. what an event would have applied.
+     * @return {@link #isUsable()}
+     */
+    public boolean recordDamage(int damage) {
+        return record(damage, false);
+    }
+
+    /** Write the accumulated wear (one damage write, one lore update) and close the batch. */
+    public void commit() {
+        if (!open) return;
+        open = false;
+        service.endBatch(this);
+        int points = tally.drain();
+        if (!tally.settled() && points > 0) service.writeWear(player, tool, points);
+    }
+
+    @Override
+    public void close() {
+        commit();
+    }
+
+    // ------------------------------------------------------------------------
+    // service hooks
+    // ------------------------------------------------------------------------
+    /**
+     * Whether a damage event's item is the batch tool: still held in the same slot, and the same
+     * stack (events hand out their own mirror, so compare type and the live damage value).
+     */
+    boolean owns(ItemStack item) {
+        if (!open || item.getType() != tool.getType()) return false;
+        if (player.getInventory().getHeldItemSlot() != slot) return false;
+        return Objects.equals(item.getData(DataComponentTypes.DAMAGE), tool.getData(DataComponentTypes.DAMAGE));
+    }
+
+    void markWrongTool(boolean wrong) {
+        pendingWrongTool = wrong;
+    }
+
+    void recordEventDamage(double damage) {
+        boolean wrong = pendingWrongTool;
+        pendingWrongTool = false;
+        record(damage, wrong);
+    }
+
+    private boolean record(double damage, boolean wrongTool) {
+        if (!isUsable() || !tally.takesWear() || damage <= 0) return isUsable();
+
+        double factor = baseFactor * (wrongTool ? wrongToolMultiplier : 1.0);
+        if (factor <= 0.0) return true;
+
+        // Edge reached: settle now so the tool stops exactly where single events would stop it
+        if (tally.add(service.roll(damage * factor))) service.writeWear(player, tool, tally.drain());
+        return isUsable();
+    }
+
+    // ------------------------------------------------------------------------
+    // accounting
+    // ------------------------------------------------------------------------
+    /** Whole-point bookkeeping of one batch, free of server types. */
+    static final class Tally {
+        private final int startDamage;   // damage when the batch began, -1 if the tool takes no wear
+        private final int maxDurability; // <= 0: no edge
+
+        private int points;              // whole points recorded, not yet written
+        private boolean settled;         // edge reached mid-batch; further wear is ignored
+
+        Tally(int startDamage, int maxDurability) {
+            this.startDamage = startDamage;
+            this.maxDurability = maxDurability;
+        }
+
+        boolean takesWear() { return startDamage >= 0; }
+        boolean settled() { return settled; }
+        int pending() { return points; }
+
+        /**
+         * Add rolled points.
+         * @return true if they reach the tool's edge: the batch is settled and the caller writes
+         *         {@link #drain()} right away
+         */
+        boolean add(int rolled) {
+            if (settled || !takesWear()) return false;
+            points += rolled;
+            if (maxDurability > 0 && startDamage + points >= maxDurability) {
+                settled = true;
+                return true;
+            }
+            return false;
+        }
+
+        /** Points to write, resetting the pending count. */
+        int drain() {
+            int p = points;
+            points = 0;
+            return p;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.decay;
+
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Age-based wear ("rust") evaluated lazily.
+ *
+ * Each affected item carries a "last evaluated" timestamp in its PDC. Whenever an existing
+ * listener touches the item we compute, in closed form, how many whole durability points
+ * have elapsed since then and advance the timestamp by exactly that many periods, so the
+ * fractional remainder carries over. There is no background task: an item sitting in a
+ * chest for weeks costs nothing until somebody picks it up.
+ */
+public final class RustDecay {
+
+    private static final long MS_PER_DAY = 24L * 60L * 60L * 1000L;
+
+    private final boolean enabled;
+    private final boolean autoProtect;
+
+    /** Milliseconds per durability point, indexed by Material ordinal (0 = not affected). */
+    private final long[] msPerPoint;
+
+    public RustDecay(FileConfiguration cfg) {
+        ConfigurationSection sec = cfg.getConfigurationSection("rustDecay");
+        this.enabled = sec != null && sec.getBoolean("enabled", false);
+        this.autoProtect = cfg.getBoolean("autoProtect.enabled", true);
+        this.msPerPoint = new long[Material.values().length];
+        if (!enabled) return;
+
+        boolean includeArmor = sec.getBoolean("includeArmor", true);
+        List<String> exempt = sec.getStringList("exemptTiers");
+        ConfigurationSection rates = sec.getConfigurationSection("pointsPerDay");
+        if (rates == null) return;
+
+        for (Material m : Material.values()) {
+            if (m.isLegacy() || m.getMaxDurability() <= 0) continue;
+            if (!includeArmor && isArmor(m)) continue;
+
+            String tier = tierOf(m);
+            if (exempt.contains(tier)) continue;
+
+            double perDay = rates.getDouble(tier, 0.0);
+            if (perDay <= 0.0) continue;
+            msPerPoint[m.ordinal()] = periodMs(perDay);
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /**
+     * Bring the item's rust up to date.
+     *
+     * Everything up to the decision is read through the item's PDC view and components, so a
+     * touch that accrues no whole point costs no meta copy and writes nothing.
+     * @return true if rust damage was applied (the item's meta was rewritten)
+     */
+    public boolean apply(ItemStack item) {
+        if (!enabled || item == null) return false;
+        long period = msPerPoint[item.getType().ordinal()];
+        if (period <= 0L) return false;
+        if (item.hasData(DataComponentTypes.UNBREAKABLE)) return false;
+
+        long now = System.currentTimeMillis();
+        Long last = item.getPersistentDataContainer().get(PdcKeys.RUST_LAST, PersistentDataType.LONG);
+        if (last == null || last > now) {
+            // First time we see this item (or the clock went backwards): start the clock now
+            stamp(item, now);
+            return false;
+        }
+
+        long points = duePoints(last, now, period);
+        if (points <= 0L) return false;
+
+        int max = ItemUtil.maxDurability(item);
+        int edge = Math.max(0, max - 1);
+        Integer current = item.getData(DataComponentTypes.DAMAGE);
+        int damage = current != null ? current : 0;
+        if (damage >= edge) {
+            // Already at the edge: move the clock (at most once per period) so time spent here
+            // is not charged once the item is repaired
+            stamp(item, now);
+            return false;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (!(meta instanceof Damageable d)) return false;
+
+        int next = rusted(damage, points, edge);
+        d.setDamage(next);
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        pdc.set(PdcKeys.RUST_LAST, PersistentDataType.LONG, advance(last, points, period));
+        boolean broke = next >= edge && autoProtect;
+        if (broke) pdc.set(PdcKeys.BROKEN, PersistentDataType.BYTE, (byte) 1);
+        item.setItemMeta(meta);
+        if (broke) BrokenState.apply(item);
+        return true;
+    }
+
+    // ------------------------------------------------------------------------
+    // Closed-form catch-up
+    // ------------------------------------------------------------------------
+
+    /** Milliseconds per durability point for a configured rate (at least 1). */
+    static long periodMs(double pointsPerDay) {
+        return Math.max(1L, Math.round(MS_PER_DAY / pointsPerDay));
+    }
+
+    /** Whole points elapsed between the clock {@code last} and {@code now}. */
+    static long duePoints(long last, long now, long period) {
+        return (now - last) / period;
+    }
+
+    /** Damage after {@code points} of rust: rust never destroys an item, it stops at the protected edge. */
+    static int rusted(int damage, long points, int edge) {
+        return (int) Math.min(edge, damage + points);
+    }
+
+    /** The clock after charging {@code points} whole periods; the fractional remainder carries over. */
+    static long advance(long last, long points, long period) {
+        return last + points * period;
+    }
+
+    /** Set the rust clock without copying the meta. */
+    private static void stamp(ItemStack item, long now) {
+        item.editPersistentDataContainer(pdc -> pdc.set(PdcKeys.RUST_LAST, PersistentDataType.LONG, now));
+    }
+
+    private static String tierOf(Material m) {
+        String name = m.name();
+        int underscore = name.indexOf('_');
+        return (underscore > 0 ? name.substring(0, underscore) : name).toUpperCase(Locale.ROOT);
+    }
+
+    private static boolean isArmor(Material m) {
+        String n = m.name();
+        return n.endsWith("_HELMET")
+                || n.endsWith("_CHESTPLATE")
+                || n.endsWith("_LEGGINGS")
+                || n.endsWith("_BOOTS")
+                || n.equals("ELYTRA");
+    }
+}
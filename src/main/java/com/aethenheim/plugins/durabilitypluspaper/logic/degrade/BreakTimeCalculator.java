@@ -0,0 +1,163 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.datacomponent.item.Tool;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Vanilla break-time calculator (ticks a player needs to break a block).
+ *
+ * Mirrors vanilla's destroy-progress formula:
+ *   speed  = tool speed for the block (+ MINING_EFFICIENCY when the tool is effective)
+ *          × haste/conduit bonus × mining fatigue penalty
+ *          × BLOCK_BREAK_SPEED × (SUBMERGED_MINING_SPEED when the eyes are in water) ÷ 5 when airborne
+ *   progress/tick = speed / hardness / (correct tool for drops ? 30 : 100)
+ *
+ * Results are memoized by (block state, tool signature, player modifier signature), so repeat
+ * digs of the same kind of block with the same loadout are a single hash lookup.
+ */
+public final class BreakTimeCalculator {
+
+    /** Soft bound; the memo is simply dropped when it grows past this. */
+    private static final int MAX_ENTRIES = 4096;
+
+    private final Map<Key, Integer> memo = new HashMap<>();
+
+    /**
+     * Memo key. Tool signature is its Material plus its TOOL component: broken items have the
+     * component stripped (see BrokenState), and other plugins may set their own.
+     */
+    private record Key(BlockData state, Material tool, Tool toolComponent,
+                       int digSpeedAmp, int fatigueAmp,
+                       double efficiency, double breakSpeed, double submergedSpeed,
+                       boolean submerged, boolean onGround) {}
+
+    /**
+     * @return ticks to break at 20 TPS (>= 1), or -1 if the block cannot be broken
+     */
+    public int ticksFor(Player p, Block b, ItemStack tool) {
+        return ticksFor(p, b, tool, null);
+    }
+
+    /**
+     * Same as {@link #ticksFor(Player, Block, ItemStack)}, but evaluates BLOCK_BREAK_SPEED as if
+     * the modifier {@code ignoreBreakSpeedModifier} (one of our own) were not applied.
+     */
+    public int ticksFor(Player p, Block b, ItemStack tool, NamespacedKey ignoreBreakSpeedModifier) {
+        BlockData state = b.getBlockData();
+
+        Key key = new Key(
+                state,
+                tool.getType(),
+                tool.getData(DataComponentTypes.TOOL),
+                Math.max(amplifier(p, PotionEffectType.HASTE), amplifier(p, PotionEffectType.CONDUIT_POWER)),
+                amplifier(p, PotionEffectType.MINING_FATIGUE),
+                attribute(p, Attribute.MINING_EFFICIENCY, 0.0),
+                attribute(p, Attribute.BLOCK_BREAK_SPEED, 1.0, ignoreBreakSpeedModifier),
+                attribute(p, Attribute.SUBMERGED_MINING_SPEED, 0.2),
+                p.isUnderWater(),
+                p.isOnGround()
+        );
+
+        Integer cached = memo.get(key);
+        if (cached != null) return cached;
+
+        int ticks = compute(key, tool);
+        if (memo.size() >= MAX_ENTRIES) memo.clear();
+        memo.put(key, ticks);
+        return ticks;
+    }
+
+    public void clear() {
+        memo.clear();
+    }
+
+    private static int compute(Key k, ItemStack tool) {
+        return ticks(k.state.getMaterial().getHardness(), k.state.getDestroySpeed(tool, false),
+                k.state.isPreferredTool(tool), k.digSpeedAmp, k.fatigueAmp,
+                k.efficiency, k.breakSpeed, k.submergedSpeed, k.submerged, k.onGround);
+    }
+
+    /**
+     * The destroy-progress formula on plain values.
+     * @param toolSpeed the tool's destroy speed for the block (1.0 for a hand or an ineffective tool)
+     * @param preferred whether the tool is correct for the block's drops
+     * @param digSpeedAmp haste/conduit amplifier, -1 for none
+     * @param fatigueAmp mining fatigue amplifier, -1 for none
+     * @return ticks to break (>= 1), or -1 if the block cannot be broken
+     */
+    static int ticks(float hardness, float toolSpeed, boolean preferred, int digSpeedAmp, int fatigueAmp,
+                     double efficiency, double breakSpeed, double submergedSpeed,
+                     boolean submerged, boolean onGround) {
+        if (hardness < 0f) return -1; // bedrock & co.
+        if (hardness == 0f) return 1;
+
+        float speed = toolSpeed;
+        if (speed > 1.0f) speed += (float) efficiency;
+
+        if (digSpeedAmp >= 0) speed *= 1.0f + (digSpeedAmp + 1) * 0.2f;
+
+        if (fatigueAmp >= 0) {
+            speed *= switch (fatigueAmp) {
+                case 0 -> 0.3f;
+                case 1 -> 0.09f;
+                case 2 -> 0.0027f;
+                default -> 8.1E-4f;
+            };
+        }
+
+        speed *= (float) breakSpeed;
+        if (submerged) speed *= (float) submergedSpeed;
+        if (!onGround) speed /= 5.0f;
+
+        int divisor = preferred ? 30 : 100;
+        float progressPerTick = speed / hardness / divisor;
+        if (progressPerTick <= 0f) return -1; // no progress at all (e.g. zero break speed)
+        if (progressPerTick >= 1.0f) return 1; // instant break
+
+        return Math.max(1, (int) Math.ceil(1.0f / progressPerTick));
+    }
+
+    private static int amplifier(Player p, PotionEffectType type) {
+        PotionEffect eff = p.getPotionEffect(type);
+        return eff != null ? eff.getAmplifier() : -1;
+    }
+
+    private static double attribute(Player p, Attribute attr, double def) {
+        AttributeInstance inst = p.getAttribute(attr);
+        return inst != null ? inst.getValue() : def;
+    }
+
+    /** Attribute value with one modifier left out (vanilla order: add, multiply base, multiply total). */
+    private static double attribute(Player p, Attribute attr, double def, NamespacedKey skip) {
+        AttributeInstance inst = p.getAttribute(attr);
+        if (inst == null) return def;
+        if (skip == null || inst.getModifier(skip) == null) return inst.getValue();
+
+        double base = inst.getBaseValue();
+        for (AttributeModifier m : inst.getModifiers()) {
+            if (!m.getKey().equals(skip) && m.getOperation() == AttributeModifier.Operation.ADD_NUMBER) base += m.getAmount();
+        }
+        double value = base;
+        for (AttributeModifier m : inst.getModifiers()) {
+            if (!m.getKey().equals(skip) && m.getOperation() == AttributeModifier.Operation.ADD_SCALAR) value += base * m.getAmount();
+        }
+        for (AttributeModifier m : inst.getModifiers()) {
+            if (!m.getKey().equals(skip) && m.getOperation() == AttributeModifier.Operation.MULTIPLY_SCALAR_1) value *= 1.0 + m.getAmount();
+        }
+        return Math.max(0.0, value);
+    }
+}
@@ -0,0 +1,37 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+/**
+ * Backend for delay-mode crack overlays.
+ * Animation ids are derived from the miner's entity id with {@link #animationId(Player)}.
+ */
+public interface CrackRenderer {
+
+    /**
+     * Source id for a miner's crack overlay. It is not the miner's own entity id: while delay
+     * mode freezes the dig, the miner's client clears progress under its own id every tick and
+     * would wipe the server-sent stage. The bitwise complement is negative, so it never collides
+     * with a real entity.
+     */
+    static int animationId(Player miner) {
+        return ~miner.getEntityId();
+    }
+
+    /** Show crack stage 0..9 (or -1 to clear) of {@code block} on behalf of {@code miner}. */
+    void sendCrack(Player miner, Block block, int stage);
+
+    default void clearCrack(Player miner, Block block) {
+        sendCrack(miner, block, -1);
+    }
+
+    /** Push out anything queued so far (no-op for backends that send immediately). */
+    default void flush() {}
+
+    /** Drop cached state for one animation id (e.g., the miner quit). */
+    void forget(int animationId);
+
+    /** Drop all cached state (reload/disable). */
+    void clearAll();
+}
@@ -0,0 +1,51 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.BlockKeys;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.LongObjectMap;
+
+/**
+ * Last crack stage sent per animation id, used to skip resending an unchanged stage.
+ *
+ * An animation id (the miner's entity id) only ever cracks one block at a time, so the entry
+ * keeps that block's packed position next to the stage: lookups are exact (no hash-combined
+ * key that can collide) and the cache holds at most one entry per active miner. Entries are
+ * evicted on clear (-1) and via {@link #forget}.
+ */
+final class CrackStageCache {
+
+    private final LongObjectMap<Entry> lastStage = new LongObjectMap<>();
+
+    private static final class Entry {
+        long pos;
+        int stage;
+    }
+
+    /**
+     * Record the stage and report whether it has to be sent.
+     * Clears (-1) are always forwarded, to guarantee overlays are removed.
+     */
+    boolean update(int animationId, int x, int y, int z, int stage) {
+        long pos = BlockKeys.pack(x, y, z);
+        Entry prev = lastStage.get(animationId);
+        if (stage == -1) {
+            if (prev != null && prev.pos == pos) lastStage.remove(animationId);
+            return true;
+        }
+        if (prev != null && prev.pos == pos && prev.stage == stage) return false;
+        if (prev == null) {
+            prev = new Entry();
+            lastStage.put(animationId, prev);
+        }
+        prev.pos = pos;
+        prev.stage = stage;
+        return true;
+    }
+
+    void forget(int animationId) {
+        lastStage.remove(animationId);
+    }
+
+    void clear() {
+        lastStage.clear();
+    }
+}
@@ -15,14 +15,18 @@ public final class DegradationConfig {
     private final boolean enabled;
     private final boolean weaponEnabled;
     private final boolean armorEnabled;
+    private final boolean weaponModeAttribute; // weaponDamage.mode: "scale" (default) | "attribute"
     private final boolean miningEnabled;
 
     // mining mode + visuals
-    private final boolean modeEffect; // true => "effect", false => "delay"
+    private final String miningMode; // "effect", "delay" or "attribute"
     private final String effectStyle; // "burst" (default) or "smooth"
     private final int effectDurationTicks; // burst duration
     private final boolean syncAnimation;
+    private final String visualBackend; // "native" (default) or "protocollib"
     private final int maxTrackSeconds;
+    private final int swingGraceTicks;
+    private final int sanityRaytraceTicks;
 
     // smooth (new) – only used when effectStyle == "smooth"
     private final int smoothMinDurationTicks;
@@ -60,10 +64,15 @@ public final class DegradationConfig {
         this.enabled = (root == null) ? true : root.getBoolean("enabled", true);
         this.weaponEnabled = w != null && w.getBoolean("enabled", true);
         this.armorEnabled = a != null && a.getBoolean("enabled", true);
+        this.weaponModeAttribute = w != null && "attribute".equalsIgnoreCase(w.getString("mode", "scale"));
         this.miningEnabled = m != null && m.getBoolean("enabled", true);
 
-        // mode: "effect" vs "delay"
-        this.modeEffect = "effect".equalsIgnoreCase(m != null ? m.getString("mode", "effect") : "effect");
+        // mode: "effect" | "delay" | "attribute" (anything unknown behaves like delay, as before)
+        String mode = (m != null ? m.getString("mode", "effect") : "effect").toLowerCase(Locale.ROOT);
+        this.miningMode = switch (mode) {
+            case "effect", "attribute" -> mode;
+            default -> "delay";
+        };
         this.effectStyle = (eff != null ? eff.getString("style", "burst") : "burst");
         this.effectDurationTicks = Math.max(1, burst != null ? burst.getInt("durationTicks", 40) : 40);
 
@@ -78,7 +87,10 @@ public final class DegradationConfig {
 
         // visuals / animation helpers
         this.syncAnimation = v != null && v.getBoolean("syncAnimation", true);
+        this.visualBackend = (v != null ? v.getString("backend", "native") : "native");
         this.maxTrackSeconds = Math.max(1, v != null ? v.getInt("maxTrackSeconds", 8) : 8);
+        this.swingGraceTicks = Math.max(2, v != null ? v.getInt("swingGraceTicks", 10) : 10);
+        this.sanityRaytraceTicks = Math.max(2, v != null ? v.getInt("sanityRaytraceTicks", 20) : 20);
 
         // === global curves ===
         this.wCurveGlobal = CurveUtil.parseDoubleCurve(w != null ? w.getConfigurationSection("curve") : null, 1.0);
@@ -107,14 +119,20 @@ public final class DegradationConfig {
     public boolean isEnabled() { return enabled; }
     public boolean weaponDamageEnabled() { return enabled && weaponEnabled; }
     public boolean armorProtectionEnabled() { return enabled && armorEnabled; }
+    public boolean weaponModeAttribute() { return weaponModeAttribute; } // ATTACK_DAMAGE modifier instead of per-hit scaling
     public boolean miningEnabled() { return enabled && miningEnabled; }
 
-    public boolean miningModeEffect() { return modeEffect; } // true => effect mode
+    public boolean miningModeEffect() { return "effect".equals(miningMode); }
+    public boolean miningModeDelay() { return "delay".equals(miningMode); }
+    public boolean miningModeAttribute() { return "attribute".equals(miningMode); } // BLOCK_BREAK_SPEED modifier
     public boolean effectStyleSmooth() { return "smooth".equalsIgnoreCase(effectStyle); }
     public int miningFatigueDurationTicks(){ return effectDurationTicks; } // burst duration
 
     public boolean syncAnimation() { return syncAnimation; }
+    public boolean visualBackendProtocolLib() { return "protocollib".equalsIgnoreCase(visualBackend); }
     public int maxTrackSeconds() { return maxTrackSeconds; }
+    public int swingGraceTicks() { return swingGraceTicks; }
+    public int sanityRaytraceTicks() { return sanityRaytraceTicks; }
 
     // Smooth getters (used only when effectStyleSmooth() is true)
     public int smoothMinLevel() { return smoothMinLevel; }
@@ -0,0 +1,174 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSession;
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemDamageEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Per-player cache of the averaged armor factor and the main-hand weapon factor, kept in the
+ * player's session.
+ *
+ * Values are computed lazily and marked dirty (NaN) whenever something that feeds them may have
+ * changed: armor changes (Paper's PlayerArmorChangeEvent, which also fires on durability
+ * changes), held item switches, inventory edits, pickups/drops and durability events. Our own
+ * direct item writes call {@link #invalidate(Player)}.
+ *
+ * The weapon factor is computed from main-hand state the caller already read (the combat
+ * pipeline's HandView) and is also checked against it, so it never reads the hand itself.
+ */
+public final class DegradationFactorCache implements Listener {
+
+    private final DurabilityPlusPlugin plugin;
+
+    public DegradationFactorCache(DurabilityPlusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public static final class Factors {
+        double armor = Double.NaN;
+        double weapon = Double.NaN;
+        Material weaponType;    // main-hand state the weapon factor was computed for
+        double weaponPercent;
+
+        Factors() {}
+    }
+
+    // ------------------------------------------------------------------------
+    // API
+    // ------------------------------------------------------------------------
+
+    /** Average of per-piece armor factors (1.0 if no damageable armor is worn). */
+    public double armorFactor(Player p) {
+        Factors f = factors(p);
+        if (Double.isNaN(f.armor)) f.armor = computeArmor(p);
+        return f.armor;
+    }
+
+    /**
+     * Weapon curve factor for a breakable, damageable main-hand item of {@code type} at
+     * {@code percent} remaining durability, as already read by the caller.
+     */
+    public double weaponFactor(Player p, Material type, double percent) {
+        Factors f = factors(p);
+        if (Double.isNaN(f.weapon) || f.weaponType != type || f.weaponPercent != percent) {
+            f.weapon = plugin.getDegradationConfig().weaponFactorFor(type, percent);
+            f.weaponType = type;
+            f.weaponPercent = percent;
+        }
+        return f.weapon;
+    }
+
+    public void invalidate(Player p) {
+        Factors f = cached(p);
+        if (f == null) return;
+        f.armor = Double.NaN;
+        f.weapon = Double.NaN;
+    }
+
+    public void invalidateArmor(Player p) {
+        Factors f = cached(p);
+        if (f != null) f.armor = Double.NaN;
+    }
+
+    public void invalidateWeapon(Player p) {
+        Factors f = cached(p);
+        if (f != null) f.weapon = Double.NaN;
+    }
+
+    /** Drop everything (reload: curves may have changed). */
+    public void clear() {
+        plugin.getSessions().forEach(s -> s.setFactors(null));
+    }
+
+    private Factors factors(Player p) {
+        PlayerSession session = plugin.getSessions().get(p);
+        Factors f = session.factors();
+        if (f == null) {
+            f = new Factors();
+            session.setFactors(f);
+        }
+        return f;
+    }
+
+    /** Factors already cached for the player, or null (invalidation never creates a session). */
+    private Factors cached(Player p) {
+        PlayerSession session = plugin.getSessions().peek(p);
+        return session != null ? session.factors() : null;
+    }
+
+    private double computeArmor(Player p) {
+        EntityEquipment eq = p.getEquipment();
+        if (eq == null) return 1.0;
+        DegradationConfig dcfg = plugin.getDegradationConfig();
+
+        // Each getter copies the stack: read every slot once
+        double sum = 0.0;
+        int count = 0;
+        for (ItemStack piece : new ItemStack[]{eq.getHelmet(), eq.getChestplate(), eq.getLeggings(), eq.getBoots()}) {
+            if (!ItemUtil.isDamageable(piece) || ItemUtil.isUnbreakable(piece)) continue;
+            int percent = Math.max(0, Math.min(100, (int) Math.round(ItemUtil.remainingPercent(piece))));
+            sum += dcfg.armorFactorFor(piece.getType(), percent);
+            count++;
+        }
+
+        return count == 0 ? 1.0 : sum / count; // average of per-piece factors
+    }
+
+    // ------------------------------------------------------------------------
+    // Invalidation
+    // ------------------------------------------------------------------------
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent e) {
+        invalidateArmor(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeld(PlayerItemHeldEvent e) {
+        invalidateWeapon(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwap(PlayerSwapHandItemsEvent e) {
+        invalidateWeapon(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onClick(InventoryClickEvent e) {
+        if (e.getWhoClicked() instanceof Player p) invalidate(p);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrag(InventoryDragEvent e) {
+        if (e.getWhoClicked() instanceof Player p) invalidate(p);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent e) {
+        if (e.getEntity() instanceof Player p) invalidateWeapon(p);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent e) {
+        invalidateWeapon(e.getPlayer());
+    }
+
+    // Durability moves after these events; the next read recomputes
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemDamage(PlayerItemDamageEvent e) {
+        invalidate(e.getPlayer());
+    }
+}
@@ -0,0 +1,162 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSession;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerItemDamageEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.EquipmentSlotGroup;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+
+import java.util.Objects;
+
+/**
+ * Base for modes that express a held-item curve as a transient attribute modifier on the player.
+ *
+ * The modifier (MULTIPLY_SCALAR_1, so it scales the final value) is only rewritten when the
+ * main-hand item changes or its durability moves into another curve step; everything else is
+ * left to vanilla, which also lets the client predict the result. Modifiers are transient, so
+ * they are never saved with the player, and the applied multiplier lives in the player's
+ * session, so nothing has to be undone on quit.
+ */
+abstract class HeldItemModifierListener implements Listener {
+
+    protected final DurabilityPlusPlugin plugin;
+    protected final DegradationConfig dcfg;
+
+    private final Attribute attribute;
+    private final NamespacedKey key;
+    private final EquipmentSlotGroup group;
+
+    protected HeldItemModifierListener(DurabilityPlusPlugin plugin, DegradationConfig dcfg,
+                                       Attribute attribute, NamespacedKey key, EquipmentSlotGroup group) {
+        this.plugin = plugin;
+        this.dcfg = dcfg;
+        this.attribute = attribute;
+        this.key = key;
+        this.group = group;
+    }
+
+    /** Whether this mode is currently configured on. */
+    protected abstract boolean active();
+
+    /** Multiplier for the attribute with {@code item} held at {@code percent} remaining (1.0 = none). */
+    protected abstract double multiplierFor(ItemStack item, double percent);
+
+    /** Multiplier this mode has applied to the session's player (1.0 = no modifier). */
+    protected abstract double applied(PlayerSession session);
+
+    protected abstract void setApplied(PlayerSession session, double mult);
+
+    // ------------------------------------------------------------------------
+    // API
+    // ------------------------------------------------------------------------
+
+    /** Apply for every online player (mode switched on / reload). */
+    public void refreshAll() {
+        for (Player p : Bukkit.getOnlinePlayers()) refresh(p, p.getInventory().getItemInMainHand(), 0);
+    }
+
+    /** Remove every modifier we applied (mode switched off / disable). */
+    public void shutdown() {
+        for (Player p : Bukkit.getOnlinePlayers()) remove(p);
+    }
+
+    /**
+     * Bring the player's modifier in line with {@code held}.
+     * @param pendingDamage damage about to be applied to {@code held} (negative for repairs)
+     */
+    public void refresh(Player p, ItemStack held, int pendingDamage) {
+        double mult = active() ? multiplier(held, pendingDamage) : 1.0;
+        PlayerSession session = plugin.getSessions().get(p);
+        if (applied(session) == mult) return;
+
+        AttributeInstance inst = p.getAttribute(attribute);
+        if (inst == null) return;
+        if (inst.getModifier(key) != null) inst.removeModifier(key);
+
+        setApplied(session, mult);
+        if (mult == 1.0) return;
+        inst.addTransientModifier(new AttributeModifier(key, mult - 1.0, AttributeModifier.Operation.MULTIPLY_SCALAR_1, group));
+    }
+
+    private double multiplier(ItemStack held, int pendingDamage) {
+        if (!ItemUtil.isDamageable(held) || ItemUtil.isUnbreakable(held)) return 1.0;
+        int max = ItemUtil.maxDurability(held);
+        int damage = ((Damageable) held.getItemMeta()).getDamage() + pendingDamage;
+        int rem = Math.max(0, Math.min(max, max - damage));
+        double m = multiplierFor(held, rem * 100.0 / max);
+        return (m > 0.0 && Double.isFinite(m)) ? m : 1.0;
+    }
+
+    private void remove(Player p) {
+        PlayerSession session = plugin.getSessions().peek(p);
+        if (session == null || applied(session) == 1.0) return;
+        setApplied(session, 1.0);
+        AttributeInstance inst = p.getAttribute(attribute);
+        if (inst != null && inst.getModifier(key) != null) inst.removeModifier(key);
+    }
+
+    // ------------------------------------------------------------------------
+    // Events: held item changes and durability changes of the held item
+    // ------------------------------------------------------------------------
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        Player p = e.getPlayer();
+        refresh(p, p.getInventory().getItemInMainHand(), 0);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent e) {
+        // Transient modifiers do not survive the respawn copy
+        Player p = e.getPlayer();
+        setApplied(plugin.getSessions().get(p), 1.0);
+        plugin.getTimers().schedule(p.getUniqueId(), 1L, () -> refresh(p, p.getInventory().getItemInMainHand(), 0));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeld(PlayerItemHeldEvent e) {
+        Player p = e.getPlayer();
+        refresh(p, p.getInventory().getItem(e.getNewSlot()), 0);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwap(PlayerSwapHandItemsEvent e) {
+        // getMainHandItem() is what ends up in the main hand after the swap
+        refresh(e.getPlayer(), e.getMainHandItem(), 0);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onClick(InventoryClickEvent e) {
+        if (!(e.getWhoClicked() instanceof Player p)) return;
+        // The click's result is only known afterwards
+        plugin.getTimers().schedule(p.getUniqueId(), 1L, () -> refresh(p, p.getInventory().getItemInMainHand(), 0));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDamage(PlayerItemDamageEvent e) {
+        Player p = e.getPlayer();
+        if (!isHeld(e.getItem(), p.getInventory().getItemInMainHand())) return;
+        refresh(p, e.getItem(), e.getDamage());
+    }
+
+    /** Cheap signature check (type and damage) instead of a full component comparison. */
+    private static boolean isHeld(ItemStack item, ItemStack hand) {
+        return item.getType() == hand.getType()
+                && Objects.equals(item.getData(DataComponentTypes.DAMAGE), hand.getData(DataComponentTypes.DAMAGE));
+    }
+}
@@ -1,11 +1,11 @@
 package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
 
+import io.papermc.paper.datacomponent.DataComponentTypes;
 import org.bukkit.Material;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
-import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
 
 public final class ItemUtil {
     private ItemUtil() {}
@@ -25,16 +25,21 @@ public final class ItemUtil {
     public static double remainingPercent(ItemStack item) {
         if (!isDamageable(item)) return 100.0;
         ItemMeta meta = item.getItemMeta();
-        int max = item.getType().getMaxDurability();
+        int max = maxDurability(item);
         int damage = ((Damageable) meta).getDamage();
         if (max <= 0) return 100.0;
         int rem = Math.max(0, max - damage);
         return (rem * 100.0) / max;
     }
     
+    /** Max durability of this stack (its MAX_DAMAGE component, which may differ from the type's). */
+    public static int maxDurability(ItemStack item) {
+        Integer max = item.getData(DataComponentTypes.MAX_DAMAGE);
+        return max != null ? max : item.getType().getMaxDurability();
+    }
+
     public static boolean isBroken(ItemStack item) {
-  if (!(item != null && item.hasItemMeta())) return false;
-  return item.getItemMeta().getPersistentDataContainer().has(PdcKeys.BROKEN, PersistentDataType.BYTE);
-}
+        return BrokenState.isBroken(item);
+    }
 
 }
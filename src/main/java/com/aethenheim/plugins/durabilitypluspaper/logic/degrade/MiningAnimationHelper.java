@@ -3,22 +3,33 @@ package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
 import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.wrappers.BlockPosition;
+import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Sends client-side block crack animations (requires ProtocolLib).
  * Provides both the original (World, Location, animId, stage) API and
  * convenience overloads used by listeners.
+ *
+ * Updates only go to players that are actually sent the block's chunk (Paper's chunk
+ * tracking, which already honours each player's view distance).
+ *
+ * Updates are not written immediately: each one is built into a single packet that is shared
+ * by every viewer, queued per viewer, and flushed once per tick. A viewer with several queued
+ * updates receives them inside one bundle packet (one write and one flush).
  */
-public final class MiningAnimationHelper {
+public final class MiningAnimationHelper implements CrackRenderer {
 
     private final Plugin plugin;
     private final ProtocolManager manager;
@@ -28,17 +39,16 @@ public final class MiningAnimationHelper {
         this.manager = ProtocolLibrary.getProtocolManager();
     }
 
-    /** View distance filter (squared) — 64 blocks radius by default. */
-    private static final int VIEW_RADIUS_SQ = 64 * 64;
+    /** Last stage sent per animation id (skips resending an unchanged stage) */
+    private final CrackStageCache lastStage = new CrackStageCache();
 
-    /** Optional: remember last stage per (animationId, blockPos) to avoid resending same stage */
-    private final Map<Long, Integer> lastStage = new HashMap<>();
+    /** Max packets per bundle (vanilla client limit is 4096). */
+    private static final int MAX_BUNDLE = 4096;
 
-    /** Stable key for (animId + xyz). Safer than bit-packing into 21-bit lanes. */
-    private static long key(int animationId, int x, int y, int z) {
-        long k = 31L * (31L * (31L * animationId + x) + y) + z;
-        return k;
-    }
+    /** Updates queued this tick, per viewer (packets are shared between viewers). */
+    private final Map<Player, List<PacketContainer>> pending = new IdentityHashMap<>();
+    private boolean flushScheduled;
+    private boolean bundlesSupported = true;
 
     // === BASE API (unchanged signature) ===
     // world/loc callers keep working
@@ -51,39 +61,89 @@ public final class MiningAnimationHelper {
 
         int clamped = Math.max(-1, Math.min(9, stage));
 
-        // Throttle: forward only if stage actually changed.
-        // IMPORTANT: always forward -1 clears even if cached, to guarantee overlays are removed.
-        long k = key(animationId, x, y, z);
-        Integer prev = lastStage.get(k);
-        if (prev != null && prev == clamped && clamped != -1) return;
-        lastStage.put(k, clamped);
+        // Throttle: forward only if stage actually changed (clears are always forwarded).
+        if (!lastStage.update(animationId, x, y, z, clamped)) return;
+
+        // Queue for players the block's chunk is actually sent to
+        int cx = x >> 4, cz = z >> 4;
+        if (!world.isChunkLoaded(cx, cz)) return;
+        var viewers = world.getPlayersSeeingChunk(cx, cz);
+        if (viewers.isEmpty()) return;
 
         try {
+            // One packet per update, shared by every viewer that receives it
             var packet = manager.createPacket(PacketType.Play.Server.BLOCK_BREAK_ANIMATION);
-            packet.getIntegers().write(0, animationId); // animation id (we use miner entityId by convention)
+            packet.getIntegers().write(0, animationId); // animation id (CrackRenderer.animationId of the miner)
             packet.getBlockPositionModifier().write(0, new BlockPosition(x, y, z));
             packet.getIntegers().write(1, clamped);
 
-            // Send to nearby players in same world
-            for (Player viewer : world.getPlayers()) {
-                if (viewer.getWorld() != world) continue;
-                if (viewer.getLocation().distanceSquared(loc) > VIEW_RADIUS_SQ) continue;
-                manager.sendServerPacket(viewer, packet);
+            for (Player viewer : viewers) {
+                pending.computeIfAbsent(viewer, v -> new ArrayList<>(4)).add(packet);
             }
+            scheduleFlush();
         } catch (Exception ex) {
             // Non-spammy: prints only if something is actually wrong (e.g., ProtocolLib mismatch)
             plugin.getLogger().warning("[DurabilityPlus] Failed to send crack packet: " + ex.getMessage());
         }
     }
 
-    // Convenience overloads used by listeners (id = miner entity id, not viewer id)
-    public void sendCrack(Player miner, Block block, int stage) {
-        if (miner == null || block == null) return;
-        sendCrack(miner.getWorld(), block.getLocation(), miner.getEntityId(), stage);
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        if (!plugin.isEnabled()) {
+            flush(); // disabling: the scheduler would refuse the task
+            return;
+        }
+        flushScheduled = true;
+        Bukkit.getScheduler().runTask(plugin, this::flush);
     }
 
-    public void clearCrack(Player miner, Block block) {
-        sendCrack(miner, block, -1);
+    /**
+     * Send everything queued so far: one packet, or one bundle, per viewer.
+     * Called at the end of the delay listener's tick and by the scheduled fallback.
+     */
+    @Override
+    public void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty()) return;
+
+        for (Map.Entry<Player, List<PacketContainer>> en : pending.entrySet()) {
+            Player viewer = en.getKey();
+            List<PacketContainer> packets = en.getValue();
+            if (!viewer.isOnline()) continue;
+            try {
+                if (packets.size() == 1 || !bundlesSupported) {
+                    for (PacketContainer pc : packets) manager.sendServerPacket(viewer, pc);
+                } else {
+                    for (int from = 0; from < packets.size(); from += MAX_BUNDLE) {
+                        List<PacketContainer> part = packets.subList(from, Math.min(packets.size(), from + MAX_BUNDLE));
+                        sendBundle(viewer, part);
+                    }
+                }
+            } catch (Exception ex) {
+                plugin.getLogger().warning("[DurabilityPlus] Failed to send crack packet: " + ex.getMessage());
+            }
+        }
+        pending.clear();
+    }
+
+    private void sendBundle(Player viewer, List<PacketContainer> packets) throws Exception {
+        try {
+            PacketContainer bundle = new PacketContainer(PacketType.Play.Server.BUNDLE);
+            bundle.getPacketBundles().write(0, new ArrayList<>(packets));
+            manager.sendServerPacket(viewer, bundle);
+        } catch (RuntimeException unsupported) {
+            // Older ProtocolLib without bundle support: fall back to individual packets for good
+            bundlesSupported = false;
+            plugin.getLogger().info("[DurabilityPlus] ProtocolLib bundle packets unavailable; sending crack updates individually.");
+            for (PacketContainer pc : packets) manager.sendServerPacket(viewer, pc);
+        }
+    }
+
+    // Convenience overloads used by listeners (id derived from the miner, not the viewer)
+    @Override
+    public void sendCrack(Player miner, Block block, int stage) {
+        if (miner == null || block == null) return;
+        sendCrack(miner.getWorld(), block.getLocation(), CrackRenderer.animationId(miner), stage);
     }
 
     /* -----------------------------------------------------------
@@ -95,7 +155,7 @@ public final class MiningAnimationHelper {
         if (viewer == null || loc == null) return;
         double f = Math.max(0.0, Math.min(1.0, factor));
         int stage = (int) Math.round(f * 9.0);
-        sendCrack(viewer.getWorld(), loc, viewer.getEntityId(), stage);
+        sendCrack(viewer.getWorld(), loc, CrackRenderer.animationId(viewer), stage);
     }
 
     public void trackBreaking(Player viewer, Block block, double factor, int steps) {
@@ -103,8 +163,16 @@ public final class MiningAnimationHelper {
         trackBreaking(viewer, block.getLocation(), factor, steps);
     }
 
+    /** Drop the cached stage for one animation id (e.g., the miner quit). */
+    @Override
+    public void forget(int animationId) {
+        lastStage.forget(animationId);
+    }
+
     /** Optional: clear helper’s internal cache (e.g., on plugin reload) */
+    @Override
     public void clearAll() {
+        flush(); // make sure queued clears still reach clients
         lastStage.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSession;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.inventory.EquipmentSlotGroup;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Attribute mode (miningSpeed.mode = "attribute"): the delay curve becomes a BLOCK_BREAK_SPEED
+ * modifier on the player (speed × 1/factor). Vanilla and the client then do the slower mining
+ * themselves: no fatigue icon, no per-swing packets and no server-side block tracking.
+ */
+public final class MiningAttributeListener extends HeldItemModifierListener {
+
+    public MiningAttributeListener(DurabilityPlusPlugin plugin, DegradationConfig dcfg) {
+        super(plugin, dcfg, Attribute.BLOCK_BREAK_SPEED, PdcKeys.MINING_SLOW, EquipmentSlotGroup.ANY);
+    }
+
+    @Override
+    protected boolean active() {
+        return dcfg.isEnabled() && dcfg.miningEnabled() && dcfg.miningModeAttribute();
+    }
+
+    @Override
+    protected double multiplierFor(ItemStack tool, double percent) {
+        double factor = Math.max(1.0, dcfg.miningDelayFactorFor(tool.getType(), (int) Math.round(percent)));
+        return 1.0 / factor;
+    }
+
+    @Override
+    protected double applied(PlayerSession session) {
+        return session.miningModifier();
+    }
+
+    @Override
+    protected void setApplied(PlayerSession session, double mult) {
+        session.setMiningModifier(mult);
+    }
+}
@@ -1,24 +1,34 @@
 package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
 
 import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.pipeline.HandView;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.BlockKeys;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.LongObjectMap;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.TimingWheel;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.Tag;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.attribute.AttributeModifier;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockDamageAbortEvent;
 import org.bukkit.event.block.BlockDamageEvent;
 import org.bukkit.event.block.BlockPhysicsEvent;
+import org.bukkit.event.player.PlayerAnimationEvent;
+import org.bukkit.event.player.PlayerAnimationType;
 import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.EquipmentSlotGroup;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 
-import java.lang.reflect.Method;
 import java.util.*;
 
 /**
@@ -26,43 +36,60 @@ import java.util.*;
  *
  * Flow:
  * - BlockDamageEvent starts/refreshes a Track and ALWAYS cancels vanilla digging.
- * - Baseline break-time is computed:
- * (1) Paper Attribute.BLOCK_BREAK_SPEED (reflective),
- * (2) Paper BlockData#getDestroySpeed(ItemStack, boolean) (reflective),
- * (3) heuristic (tags).
+ * - Baseline break-time comes from {@link BreakTimeCalculator} (vanilla formula, memoized).
  * - A 2-tick scheduler advances cracks 0..9; when finished, we break server-side and clear cracks.
+ * - A track stays valid while the client keeps digging: arm swings keep arriving and no
+ *   abort (BlockDamageAbortEvent) was seen. A real raytrace only runs every
+ *   sanityRaytraceTicks per miner as a safety net.
  * - BlockBreakEvent is always cancelled while tracked — we own the break timing.
- * - If ProtocolLib is present, BLOCK_DIG packets are cancelled for tracked players.
+ * - Keeping the client from finishing the break early:
+ *   native backend (default): a transient BLOCK_BREAK_SPEED ×0 modifier is put on tracked
+ *   players so the client never completes the dig on its own; crack stages are drawn with
+ *   Player#sendBlockDamage. No packet interception at all.
+ *   protocollib backend: BLOCK_DIG packets are cancelled for tracked players. That hook runs on Netty I/O threads, so it never touches {@code tracks}; it reads an
+ *   immutable sorted snapshot of tracked entity ids that the main thread republishes
+ *   whenever the set of tracks changes.
  */
 public final class MiningDelayListener implements Listener {
 
     private final DurabilityPlusPlugin plugin;
     private final DegradationConfig dcfg;
-    private final MiningAnimationHelper anim;
+    private final CrackRenderer anim;
+
+    /** true → freeze the client's own dig via attribute (no ProtocolLib dig hook installed) */
+    private final boolean freezeClient;
 
     /** Active track per player */
     private final Map<UUID, Track> tracks = new HashMap<>();
 
-    /** 2-tick driver task id */
-    private int tickTaskId = -1;
+    /** Position index: world → packed block key → tracks on that block (chained via Track.nextAtPos) */
+    private final Map<UUID, LongObjectMap<Track>> byPosition = new HashMap<>();
+
+    /**
+     * Entity ids of tracked players, sorted; copy-on-write snapshot for the Netty dig hook.
+     * Written only by the main thread, read lock-free (volatile publish, array never mutated).
+     */
+    private volatile int[] trackedIds = new int[0];
 
-    /** Simple game-tick clock (we bump by +2 every scheduler run) */
-    private long tickClock = 0L;
+    /** ProtocolLib packet listener (kept as Object so the class loads without ProtocolLib) */
+    private Object digHook;
+
+    /** 2-tick driver on the shared wheel; only scheduled while something is tracked */
+    private TimingWheel.Timer driver;
+
+    /** Vanilla break-time baseline (memoized) */
+    private final BreakTimeCalculator breakTimes = new BreakTimeCalculator();
 
     public MiningDelayListener(DurabilityPlusPlugin plugin,
                                DegradationConfig dcfg,
-                               MiningAnimationHelper animOrNull) {
+                               CrackRenderer animOrNull,
+                               boolean useProtocolLib) {
         this.plugin = plugin;
         this.dcfg = dcfg;
         this.anim = animOrNull;
+        this.freezeClient = !useProtocolLib;
 
-
-        tryHookProtocolDigCancel();
-
-        this.tickTaskId = Bukkit.getScheduler().scheduleSyncRepeatingTask(plugin, () -> {
-            tickClock += 2;
-            tick();
-        }, 0L, 2L);
+        if (useProtocolLib) tryHookProtocolDigCancel();
     }
 
     // -----------------------------------------------------------
@@ -82,19 +109,23 @@ public final class MiningDelayListener implements Listener {
                         @Override
                         public void onPacketReceiving(com.comphenix.protocol.events.PacketEvent e) {
                             if (e.isCancelled()) return;
-                            if (!dcfg.isEnabled() || !dcfg.miningEnabled() || dcfg.miningModeEffect()) return;
+                            if (!dcfg.isEnabled() || !dcfg.miningEnabled() || !dcfg.miningModeDelay()) return;
 
-                            // If we are currently tracking this player, cancel ALL dig actions so
+                            // If we are currently tracking this player, cancel dig actions so
                             // vanilla never advances/finishes the break on the client side.
-                            UUID id = e.getPlayer().getUniqueId();
-                            if (tracks.containsKey(id)) {
+                            // Aborts are let through: the server turns them into BlockDamageAbortEvent,
+                            // which is how we learn the player stopped digging.
+                            // Netty thread: only the published snapshot is read here (no allocation).
+                            int[] ids = trackedIds;
+                            if (ids.length == 0) return;
+                            if (Arrays.binarySearch(ids, e.getPlayer().getEntityId()) >= 0) {
                                 try {
                                     var pt = e.getPacket().getPlayerDigTypes().readSafely(0);
                                     if (pt != null) {
                                         String name = pt.name();
+                                        if ("ABORT_DESTROY_BLOCK".equals(name)) return;
                                         if ("START_DESTROY_BLOCK".equals(name)
-                                                || "STOP_DESTROY_BLOCK".equals(name)
-                                                || "ABORT_DESTROY_BLOCK".equals(name)) {
+                                                || "STOP_DESTROY_BLOCK".equals(name)) {
                                             e.setCancelled(true);
                                             return;
                                         }
@@ -108,6 +139,7 @@ public final class MiningDelayListener implements Listener {
                     };
 
             pm.addPacketListener(adapter);
+            digHook = adapter;
             plugin.getLogger().info("[DurabilityPlus] ProtocolLib dig cancel hook active.");
         } catch (Throwable t) {
             plugin.getLogger().info("[DurabilityPlus] ProtocolLib not present; cannot cancel client dig.");
@@ -116,63 +148,80 @@ public final class MiningDelayListener implements Listener {
 
     /** Call from onDisable() or reload to stop the driver and clear overlays. */
     public void shutdown() {
-        if (tickTaskId != -1) {
-            Bukkit.getScheduler().cancelTask(tickTaskId);
-            tickTaskId = -1;
+        stopDriver();
+        if (digHook != null) {
+            try {
+                com.comphenix.protocol.ProtocolLibrary.getProtocolManager()
+                        .removePacketListener((com.comphenix.protocol.events.PacketListener) digHook);
+            } catch (Throwable ignored) {}
+            digHook = null;
         }
         for (Map.Entry<UUID, Track> en : tracks.entrySet()) {
             Player p = Bukkit.getPlayer(en.getKey());
-            if (p != null && anim != null) anim.clearCrack(p, en.getValue().block);
+            if (p == null) continue;
+            if (anim != null) anim.clearCrack(p, en.getValue().block);
+            if (freezeClient) setFrozen(p, false);
         }
+        if (anim != null) anim.flush(); // send the clears now; no task may be scheduled on disable
         tracks.clear();
+        byPosition.clear();
+        trackedIds = new int[0];
+        breakTimes.clear();
+        if (anim != null) anim.clearAll();
     }
 
     // ------------------------------------------------------------------------
     // Entry: player begins to damage a block (our main gate)
     // ------------------------------------------------------------------------
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onBlockDamage(BlockDamageEvent e) {
-        if (!dcfg.isEnabled() || !dcfg.miningEnabled() || dcfg.miningModeEffect()) return;
+    /** Block pipeline stage (BlockDamageEvent): take over the break. */
+    public boolean onBlockDamage(BlockDamageEvent e, HandView hand) {
+        if (!dcfg.isEnabled() || !dcfg.miningEnabled() || !dcfg.miningModeDelay()) return true;
 
         Player p = e.getPlayer();
-        ItemStack tool = p.getInventory().getItemInMainHand();
-        if (tool == null || tool.getType().isAir()) return; // fists or empty
+        ItemStack tool = hand.item();
+        if (hand.isEmpty()) return true; // fists or empty
 
         Block b = e.getBlock();
 
-        int baseline = computeVanillaTicks(p, b, tool);
-
-        if (baseline <= 0) baseline = 30; // ~1.5s at 20 TPS; tune if desired
+        int baseline = breakTimes.ticksFor(p, b, tool, PdcKeys.MINING_FREEZE);
+        if (baseline < 0) return true; // unbreakable; leave it to vanilla
 
-// Config curve multiplier (>=1.0)
-        int percent = remainingPercent(tool);
-        double factor = Math.max(1.0, resolveDelayFactor(tool, percent));
+        // Config curve multiplier (>=1.0)
+        double factor = Math.max(1.0, resolveDelayFactor(tool, hand.percent()));
 
 
-        int targetTicks = Math.max(2, (int) Math.round(baseline * factor));
+        int targetTicks = (int) Math.max(2L, Math.min(Integer.MAX_VALUE, Math.round(baseline * factor)));
         Track t = tracks.get(p.getUniqueId());
         if (t != null && t.sameTarget(b, tool)) {
             t.targetTicks = targetTicks;
             t.accruedTicks = 0;
-            t.lastTouchTick = tickClock;
+            t.lastTouchTick = tickClock();
+            t.lastSwingTick = tickClock();
             if (anim != null) anim.sendCrack(p, b, 0);
         } else {
-            Track nt = new Track(b, tool, targetTicks, tickClock);
-            tracks.put(p.getUniqueId(), nt);
+            Track nt = new Track(p.getUniqueId(), p.getEntityId(), b, tool, targetTicks, tickClock());
+            Track prev = tracks.put(p.getUniqueId(), nt);
+            if (prev != null) {
+                unindex(prev);
+                if (anim != null) anim.clearCrack(p, prev.block);
+            }
+            index(nt);
             if (anim != null) anim.sendCrack(p, b, 0);
         }
 
         e.setCancelled(true);
+        return false;
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onBlockBreak(BlockBreakEvent e) {
-        Player p = e.getPlayer();
-        Track t = tracks.get(p.getUniqueId());
-        if (t == null) return;
-        if (!t.sameTarget(e.getBlock(), p.getInventory().getItemInMainHand())) return;
+    /** Block pipeline stage (BlockBreakEvent): the client may not finish a break we own. */
+    public boolean onBlockBreak(BlockBreakEvent e, HandView hand) {
+        if (tracks.isEmpty()) return true;
+        Track t = tracks.get(e.getPlayer().getUniqueId());
+        if (t == null) return true;
+        if (!t.sameTarget(e.getBlock(), hand.item())) return true;
 
         e.setCancelled(true);
+        return false;
     }
 
     // ------------------------------------------------------------------------
@@ -183,6 +232,22 @@ public final class MiningDelayListener implements Listener {
         clear(e.getPlayer());
     }
 
+    // Client dig lifecycle: the miner stopped holding attack on the block
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDamageAbort(BlockDamageAbortEvent e) {
+        Track t = tracks.get(e.getPlayer().getUniqueId());
+        if (t == null || !t.block.equals(e.getBlock())) return;
+        abortIfTracking(e.getPlayer());
+    }
+
+    // Client dig lifecycle: while attack is held on a block the client swings every tick
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwing(PlayerAnimationEvent e) {
+        if (tracks.isEmpty() || e.getAnimationType() != PlayerAnimationType.ARM_SWING) return;
+        Track t = tracks.get(e.getPlayer().getUniqueId());
+        if (t != null) t.lastSwingTick = tickClock();
+    }
+
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onHeldChange(PlayerItemHeldEvent e) {
         abortIfTracking(e.getPlayer());
@@ -195,14 +260,21 @@ public final class MiningDelayListener implements Listener {
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPhysics(BlockPhysicsEvent e) {
-        // If a tracked block changed out from under us, abort its tracker
-        for (Map.Entry<UUID, Track> en : new ArrayList<>(tracks.entrySet())) {
-            Track t = en.getValue();
-            if (t.block.equals(e.getBlock())) {
-                Player p = Bukkit.getPlayer(en.getKey());
-                if (p != null && anim != null) anim.clearCrack(p, t.block);
-                tracks.remove(en.getKey());
-            }
+        // Hot path: one of the most frequent events on the server. No tracks in this world → no work.
+        if (byPosition.isEmpty()) return;
+        Block b = e.getBlock();
+        LongObjectMap<Track> idx = byPosition.get(b.getWorld().getUID());
+        if (idx == null) return;
+        Track t = idx.get(BlockKeys.pack(b.getX(), b.getY(), b.getZ()));
+
+        // If a tracked block changed out from under us, abort its tracker(s)
+        while (t != null) {
+            Track next = t.nextAtPos;
+            Player p = Bukkit.getPlayer(t.owner);
+            if (p != null && anim != null) anim.clearCrack(p, t.block);
+            tracks.remove(t.owner);
+            unindex(t);
+            t = next;
         }
     }
 
@@ -210,9 +282,11 @@ public final class MiningDelayListener implements Listener {
     // Core ticking & visuals (every 2 ticks)
     // ------------------------------------------------------------------------
     private void tick() {
-        if (tracks.isEmpty()) return;
+        if (tracks.isEmpty()) { stopDriver(); return; }
 
         int capTicks = Math.max(0, dcfg.maxTrackSeconds()) * 20; // seconds -> ticks
+        int swingGrace = dcfg.swingGraceTicks();
+        int sanityEvery = dcfg.sanityRaytraceTicks();
 
         Iterator<Map.Entry<UUID, Track>> it = tracks.entrySet().iterator();
         while (it.hasNext()) {
@@ -221,17 +295,19 @@ public final class MiningDelayListener implements Listener {
             Track t = entry.getValue();
             Player p = Bukkit.getPlayer(id);
 
-            if (p == null) { it.remove(); continue; }
+            if (p == null) { it.remove(); unindex(t); continue; }
 
-            if (!t.stillValidFor(p)) {
+            if (!t.stillValidFor(p, tickClock(), swingGrace, sanityEvery)) {
                 if (anim != null) anim.clearCrack(p, t.block);
                 it.remove();
+                unindex(t);
                 continue;
             }
 
-            if (capTicks > 0 && (tickClock - t.lastTouchTick) > capTicks) {
+            if (capTicks > 0 && (tickClock() - t.lastTouchTick) > capTicks) {
                 if (anim != null) anim.clearCrack(p, t.block);
                 it.remove();
+                unindex(t);
                 continue;
             }
 
@@ -250,98 +326,106 @@ public final class MiningDelayListener implements Listener {
                 if (anim != null) anim.clearCrack(p, b); // clear overlay first
                 Bukkit.getScheduler().runTask(plugin, () -> b.breakNaturally(tool)); // break server-side
                 it.remove();
+                unindex(t);
             }
         }
+
+        // Everything this pass produced goes out as one packet/bundle per viewer
+        if (anim != null) anim.flush();
+        if (tracks.isEmpty()) stopDriver();
+    }
+
+    private void ensureDriver() {
+        if (driver == null || !driver.isActive()) driver = plugin.getTimers().repeat(null, 2L, 2L, this::tick);
+    }
+
+    private void stopDriver() {
+        if (driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+    }
+
+    /** Server tick counter (Paper); keeps counting while the driver is idle. */
+    private static long tickClock() {
+        return Bukkit.getCurrentTick();
     }
 
     private void abortIfTracking(Player p) {
         Track t = tracks.remove(p.getUniqueId());
-        if (t != null && anim != null) anim.clearCrack(p, t.block);
+        if (t == null) return;
+        unindex(t);
+        if (anim != null) anim.clearCrack(p, t.block);
     }
 
     private void clear(Player p) {
-        Track t = tracks.remove(p.getUniqueId());
-        if (t != null && anim != null) anim.clearCrack(p, t.block);
+        abortIfTracking(p);
+        if (anim != null) anim.forget(CrackRenderer.animationId(p));
     }
 
     // ------------------------------------------------------------------------
-    // Vanilla time estimation (Paper attribute -> Paper alt -> heuristic)
+    // Position index (kept in sync with `tracks`)
     // ------------------------------------------------------------------------
-    private int computeVanillaTicks(Player p, Block b, ItemStack tool) {
-        int tAttr = vanillaTicksFromAttribute(p);
-        if (tAttr > 0) return tAttr;
-
-        Integer t2 = vanillaTicksFromPaperDestroySpeed(b, tool);
-        if (t2 != null && t2 > 0) return t2;
+    private void index(Track t) {
+        LongObjectMap<Track> idx = byPosition.computeIfAbsent(t.worldId, w -> new LongObjectMap<>());
+        t.nextAtPos = idx.put(t.posKey, t);
+        publishTrackedIds();
+        ensureDriver();
+        if (freezeClient) {
+            Player p = Bukkit.getPlayer(t.owner);
+            if (p != null) setFrozen(p, true);
+        }
+    }
 
-        return heuristicVanillaTicks(b.getType(), tool.getType());
+    private void unindex(Track t) {
+        LongObjectMap<Track> idx = byPosition.get(t.worldId);
+        if (idx == null) return;
+        Track head = idx.get(t.posKey);
+        if (head == t) {
+            if (t.nextAtPos != null) idx.put(t.posKey, t.nextAtPos);
+            else idx.remove(t.posKey);
+        } else {
+            for (Track c = head; c != null; c = c.nextAtPos) {
+                if (c.nextAtPos == t) { c.nextAtPos = t.nextAtPos; break; }
+            }
+        }
+        t.nextAtPos = null;
+        if (idx.isEmpty()) byPosition.remove(t.worldId);
+        publishTrackedIds();
+        if (freezeClient && !tracks.containsKey(t.owner)) {
+            Player p = Bukkit.getPlayer(t.owner);
+            if (p != null) setFrozen(p, false);
+        }
     }
 
     /**
-     * Paper: use Attribute.BLOCK_BREAK_SPEED without a compile-time dependency.
-     * Returns ticks to break at 20 TPS, or -1 if unavailable.
+     * Native backend: stop (or resume) the client's own dig progress with a transient
+     * BLOCK_BREAK_SPEED ×0 modifier, so only our server-side timer can finish the block.
      */
-    @SuppressWarnings({"unchecked","rawtypes"})
-    private int vanillaTicksFromAttribute(Player p) {
-        try {
-            Class<?> attrEnum = Class.forName("org.bukkit.attribute.Attribute");
-            Object BLOCK_BREAK_SPEED = Enum.valueOf((Class<Enum>) attrEnum.asSubclass(Enum.class), "BLOCK_BREAK_SPEED");
-
-            Method getAttribute = p.getClass().getMethod("getAttribute", attrEnum);
-            Object inst = getAttribute.invoke(p, BLOCK_BREAK_SPEED);
-            if (inst == null) return -1;
-
-            Method getValue = inst.getClass().getMethod("getValue");
-            double speed = ((Number) getValue.invoke(inst)).doubleValue(); // “progress per tick”
-            if (speed <= 0d) return -1;
-
-            // Convert to ticks @20tps (progress sum of 1.0 finishes a block)
-            return Math.max(1, (int) Math.round(20.0 / speed));
-        } catch (Throwable ignore) {
-            return -1;
+    private void setFrozen(Player p, boolean frozen) {
+        AttributeInstance inst = p.getAttribute(Attribute.BLOCK_BREAK_SPEED);
+        if (inst == null) return;
+        boolean has = inst.getModifier(PdcKeys.MINING_FREEZE) != null;
+        if (frozen && !has) {
+            inst.addTransientModifier(new AttributeModifier(PdcKeys.MINING_FREEZE, -1.0,
+                    AttributeModifier.Operation.MULTIPLY_SCALAR_1, EquipmentSlotGroup.ANY));
+        } else if (!frozen && has) {
+            inst.removeModifier(PdcKeys.MINING_FREEZE);
         }
     }
 
-    private Integer vanillaTicksFromPaperDestroySpeed(Block b, ItemStack tool) {
-        try {
-            Object data = b.getBlockData();
-            Method m = data.getClass().getMethod("getDestroySpeed", ItemStack.class, boolean.class);
-            Object ret = m.invoke(data, tool, Boolean.TRUE);
-            if (ret instanceof Number) {
-                float speed = ((Number) ret).floatValue();
-                if (speed <= 0f) return null;
-                return Math.max(1, Math.round(20f / speed));
-            }
-        } catch (Throwable ignored) { }
-        return null;
-    }
-
-    private int heuristicVanillaTicks(Material block, Material tool) {
-        boolean pick = Tag.MINEABLE_PICKAXE.isTagged(block);
-        boolean shovel = Tag.MINEABLE_SHOVEL.isTagged(block);
-        boolean axe = Tag.MINEABLE_AXE.isTagged(block);
-        boolean hoe = Tag.MINEABLE_HOE.isTagged(block);
-        String tn = tool.name();
-
-        if (pick) return tn.endsWith("_PICKAXE") ? 16 : 32;
-        if (shovel) return tn.endsWith("_SHOVEL") ? 10 : 20;
-        if (axe) return tn.endsWith("_AXE") ? 12 : 24;
-        if (hoe) return tn.endsWith("_HOE") ? 8 : 16;
-        return 12;
+    /** Main thread only: republish the sorted entity-id snapshot read by the Netty dig hook. */
+    private void publishTrackedIds() {
+        int[] ids = new int[tracks.size()];
+        int n = 0;
+        for (Track t : tracks.values()) ids[n++] = t.entityId;
+        Arrays.sort(ids, 0, n);
+        trackedIds = (n == ids.length) ? ids : Arrays.copyOf(ids, n);
     }
 
     // ------------------------------------------------------------------------
     // Helpers
     // ------------------------------------------------------------------------
-    private int remainingPercent(ItemStack tool) {
-        if (tool == null) return 100;
-        if (!(tool.getItemMeta() instanceof Damageable d)) return 100;
-        int max = tool.getType().getMaxDurability();
-        if (max <= 0) return 100;
-        int rem = Math.max(0, max - d.getDamage());
-        return Math.max(0, Math.min(100, Math.round(rem * 100f / max)));
-    }
-
     /** Config: per-item override first, then base curve (returns >=1.0). */
     private double resolveDelayFactor(ItemStack tool, int percent) {
         Material mat = (tool == null) ? null : tool.getType();
@@ -352,18 +436,31 @@ public final class MiningDelayListener implements Listener {
     // Track
     // ------------------------------------------------------------------------
     private static final class Track {
+        final UUID owner;
+        final int entityId;
         final Block block;
+        final UUID worldId;
+        final long posKey;
         final ItemStack toolSnapshot;
         int targetTicks; // required ticks
         int accruedTicks; // progressed ticks
-        long lastTouchTick; // last time we saw BlockDamage for this target (in tickClock units)
-
-        Track(Block b, ItemStack tool, int targetTicks, long startTick) {
+        long lastTouchTick; // last time we saw BlockDamage for this target (server tick)
+        long lastSwingTick; // last arm swing from the miner (server tick)
+        long nextSanityTick; // next time we confirm the target with a real raytrace
+        Track nextAtPos; // next track on the same block (position index chain)
+
+        Track(UUID owner, int entityId, Block b, ItemStack tool, int targetTicks, long startTick) {
+            this.owner = owner;
+            this.entityId = entityId;
             this.block = b;
+            this.worldId = b.getWorld().getUID();
+            this.posKey = BlockKeys.pack(b.getX(), b.getY(), b.getZ());
             this.toolSnapshot = (tool == null ? null : tool.clone());
             this.targetTicks = Math.max(2, targetTicks);
             this.accruedTicks = 0;
             this.lastTouchTick = startTick;
+            this.lastSwingTick = startTick;
+            this.nextSanityTick = startTick;
         }
 
         boolean finished() { return accruedTicks >= targetTicks; }
@@ -375,9 +472,16 @@ public final class MiningDelayListener implements Listener {
             return toolSnapshot.getType() == curTool.getType();
         }
 
-        boolean stillValidFor(Player p) {
-            Block sight = p.getTargetBlockExact(6);
-            if (sight == null || !sight.equals(block)) return false;
+        boolean stillValidFor(Player p, long now, int swingGrace, int sanityEvery) {
+            // Digging stopped without an abort reaching us (e.g. dropped packets)
+            if (now - lastSwingTick > swingGrace) return false;
+
+            // Periodic safety net; everything else comes from the dig lifecycle events
+            if (now >= nextSanityTick) {
+                nextSanityTick = now + sanityEvery;
+                Block sight = p.getTargetBlockExact(6);
+                if (sight == null || !sight.equals(block)) return false;
+            }
 
             ItemStack cur = p.getInventory().getItemInMainHand();
             if (toolSnapshot == null && cur == null) return true;
@@ -1,32 +1,38 @@
 package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
 
 import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.pipeline.HandView;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSession;
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.GameMode;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.block.BlockDamageEvent;
+import org.bukkit.event.block.BlockEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.PlayerItemHeldEvent;
 import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Effect mode: briefly applies Mining Fatigue based on tool %,
  * and proactively clears it when the tool is healthy/switches.
+ *
+ * Each player's session has a small fatigue state (applied amplifier + expiry tick). Digging only sends
+ * an effect when the wanted level differs from what we applied or our effect is about to run
+ * out; switching items only clears it when the level would change.
  */
 public class MiningEffectListener implements Listener {
     private final DurabilityPlusPlugin plugin;
     private final DegradationConfig dcfg;
 
+    /** Re-apply when our effect has fewer ticks than this left */
+    private static final int REFRESH_MARGIN_TICKS = 10;
+
     public MiningEffectListener(DurabilityPlusPlugin plugin, DegradationConfig dcfg) {
         this.plugin = plugin;
         this.dcfg = dcfg;
@@ -35,7 +41,7 @@ public class MiningEffectListener implements Listener {
     private int toolPercent(ItemStack item) {
         if (item == null || item.getType().isAir()) return 100;
         if (!(item.getItemMeta() instanceof Damageable d)) return 100;
-        int max = item.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(item);
         if (max <= 0) return 100;
         int remaining = Math.max(0, max - d.getDamage());
         return Math.round(remaining * 100f / max);
@@ -56,132 +62,114 @@ public class MiningEffectListener implements Listener {
         return Math.max(0, level - 1);
     }
 
-    /** Reads fatigueLevels from config and returns the level for a given percent. */
-    private int fatigueLevelForPercent(int percent) {
-        ConfigurationSection sec = plugin.getConfig().getConfigurationSection("degradation.miningSpeed.fatigueLevels");
-        if (sec == null) return 0;
-        // Sort thresholds numerically ascending; first threshold >= percent wins
-        List<Integer> thresholds = new ArrayList<>();
-        for (String k : sec.getKeys(false)) {
-            try { thresholds.add(Integer.parseInt(k)); } catch (NumberFormatException ignored) {}
-        }
-        thresholds.sort(Integer::compareTo); // 10,25,50,...
-        for (int t : thresholds) {
-            if (percent <= t) return sec.getInt(String.valueOf(t), 0);
-        }
-        return 0;
+    /** 0-based amplifier wanted for this tool, or -1 for no fatigue. */
+    private int wantedAmplifier(Player p, ItemStack tool) {
+        if (tool == null || tool.getType().isAir()) return -1;
+        return wantedAmplifier(p, tool.getType(), toolPercent(tool));
     }
 
-    private void clearFatigue(Player p) {
-        p.removePotionEffect(PotionEffectType.MINING_FATIGUE);
+    private int wantedAmplifier(Player p, Material tool, int percent) {
+        if (p.getGameMode() == GameMode.CREATIVE) return -1;
+        if (tool.isAir()) return -1;
+        int baseLevel = dcfg.miningFatigueLevelFor(tool, percent);
+        if (baseLevel <= 0) return -1;
+        return dcfg.effectStyleSmooth() ? cappedAmplifierForSmooth(baseLevel) : Math.max(0, baseLevel - 1);
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onBlockBreak(BlockBreakEvent e) {
-        var dcfg = plugin.getDegradationConfig();
-        if (dcfg == null || !dcfg.isEnabled() || !dcfg.miningEnabled() || !dcfg.miningModeEffect()) return;
+    private int durationTicks(int percent) {
+        return dcfg.effectStyleSmooth()
+                ? Math.max(1, smoothDurationTicks(percent))
+                : Math.max(20, dcfg.miningFatigueDurationTicks());
+    }
 
-        Player p = e.getPlayer();
-        ItemStack tool = p.getInventory().getItemInMainHand();
-        if (tool == null || tool.getType().isAir()) {
-            clearFatigue(p);
-            return;
+    // ------------------------------------------------------------------------
+    // State machine
+    // ------------------------------------------------------------------------
+
+    /** Dig with the tool in {@code hand}: apply, refresh or clear fatigue as needed. */
+    private void onDig(Player p, HandView hand) {
+        int percent = hand.percent();
+        int amp = wantedAmplifier(p, hand.type(), percent);
+        if (amp < 0) { clearFatigue(p); return; }
+
+        PlayerSession session = plugin.getSessions().get(p);
+        FatigueState st = session.fatigue();
+        if (st == null) {
+            st = new FatigueState();
+            session.setFatigue(st);
         }
+        long now = Bukkit.getCurrentTick();
+        if (st.amp == amp && st.expiresAt - now > REFRESH_MARGIN_TICKS && ownsEffect(p, st)) return;
 
-        int percent = toolPercent(tool);
-
-        int baseLevel = dcfg.miningFatigueLevelFor(tool.getType(), percent);
-        if (baseLevel <= 0) {
-            clearFatigue(p);
-            return;
-        }
+        int dur = durationTicks(percent);
+        p.addPotionEffect(new PotionEffect(PotionEffectType.MINING_FATIGUE, dur, amp, true, false, false));
+        st.amp = amp;
+        st.expiresAt = now + dur;
+    }
 
-        if (dcfg.effectStyleSmooth()) {
-            int dur = smoothDurationTicks(percent);
-            int amp = cappedAmplifierForSmooth(baseLevel);
-            p.addPotionEffect(new org.bukkit.potion.PotionEffect(
-                    org.bukkit.potion.PotionEffectType.MINING_FATIGUE,
-                    Math.max(1, dur),
-                    amp,
-                    true, false, false
-            ));
-        } else {
-            int dur = Math.max(20, dcfg.miningFatigueDurationTicks());
-            int amp = Math.max(0, baseLevel - 1);
-            p.addPotionEffect(new org.bukkit.potion.PotionEffect(
-                    org.bukkit.potion.PotionEffectType.MINING_FATIGUE,
-                    dur,
-                    amp,
-                    true, false, false
-            ));
-        }
+    /** The held item changed: drop our fatigue only if the level for the new item differs. */
+    private void onToolChanged(Player p, ItemStack newTool) {
+        FatigueState st = plugin.getSessions().get(p).fatigue();
+        if (st == null || st.amp < 0) return;
+        if (wantedAmplifier(p, newTool) != st.amp) clearFatigue(p);
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onBlockDamage(BlockDamageEvent e) {
-        var dcfg = plugin.getDegradationConfig();
-        if (dcfg == null || !dcfg.isEnabled() || !dcfg.miningEnabled() || !dcfg.miningModeEffect()) return;
+    /** Our effect is still on the player (milk, death etc. remove it without an event we track). */
+    private static boolean ownsEffect(Player p, FatigueState st) {
+        PotionEffect eff = p.getPotionEffect(PotionEffectType.MINING_FATIGUE);
+        return eff != null && eff.getAmplifier() == st.amp;
+    }
 
-        if (e.getPlayer().getGameMode() == org.bukkit.GameMode.CREATIVE) {
-            clearFatigue(e.getPlayer());
-            return;
+    private void clearFatigue(Player p) {
+        FatigueState st = plugin.getSessions().get(p).fatigue();
+        if (st == null || st.amp < 0) return; // nothing of ours to clear
+        if (st.expiresAt > Bukkit.getCurrentTick() && ownsEffect(p, st)) {
+            p.removePotionEffect(PotionEffectType.MINING_FATIGUE);
         }
+        st.amp = -1;
+        st.expiresAt = 0L;
+    }
 
-        var p = e.getPlayer();
-        var tool = p.getInventory().getItemInMainHand();
-        if (tool == null || tool.getType().isAir()) { clearFatigue(p); return; }
-
-        int percent = toolPercent(tool);
-        int baseLevel = dcfg.miningFatigueLevelFor(tool.getType(), percent);
-        if (baseLevel <= 0) { clearFatigue(p); return; }
-
-        if (dcfg.effectStyleSmooth()) {
-            int dur = smoothDurationTicks(percent);
-            int amp = Math.max(0, cappedAmplifierForSmooth(baseLevel) - 1); // Bukkit amp is 0-based
-            p.addPotionEffect(new org.bukkit.potion.PotionEffect(
-                    org.bukkit.potion.PotionEffectType.MINING_FATIGUE, // use SLOW_DIGGING if MINING_FATIGUE doesn't exist
-                    Math.max(1, dur),
-                    amp,
-                    true, // ambient
-                    false // particles
-            ));
-        } else {
-            int dur = Math.max(20, dcfg.miningFatigueDurationTicks());
-            int amp = Math.max(0, baseLevel - 1);
-            p.addPotionEffect(new org.bukkit.potion.PotionEffect(
-                    org.bukkit.potion.PotionEffectType.MINING_FATIGUE,
-                    Math.max(1, dur),
-                    amp,
-                    true,
-                    false
-            ));
-        }
+    // ------------------------------------------------------------------------
+    // Events
+    // ------------------------------------------------------------------------
+    /** Block pipeline stage (BlockBreakEvent and BlockDamageEvent). */
+    public boolean onDig(BlockEvent e, HandView hand) {
+        if (!dcfg.isEnabled() || !dcfg.miningEnabled() || !dcfg.miningModeEffect()) return true;
+        onDig(hand.player(), hand);
+        return true;
     }
 
     @EventHandler(ignoreCancelled = true)
     public void onHeld(PlayerItemHeldEvent e) {
         if (!dcfg.isEnabled() || !dcfg.miningEnabled() || !dcfg.miningModeEffect()) return;
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            Player p = e.getPlayer();
-            if (fatigueLevelForPercent(toolPercent(p.getInventory().getItemInMainHand())) <= 0) clearFatigue(p);
-        });
+        Player p = e.getPlayer();
+        onToolChanged(p, p.getInventory().getItem(e.getNewSlot()));
     }
 
     @EventHandler(ignoreCancelled = true)
     public void onSwap(PlayerSwapHandItemsEvent e) {
         if (!dcfg.isEnabled() || !dcfg.miningEnabled() || !dcfg.miningModeEffect()) return;
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            if (fatigueLevelForPercent(toolPercent(e.getPlayer().getInventory().getItemInMainHand())) <= 0)
-                clearFatigue(e.getPlayer());
-        });
+        // getMainHandItem() is what ends up in the main hand after the swap
+        onToolChanged(e.getPlayer(), e.getMainHandItem());
     }
 
     @EventHandler(ignoreCancelled = true)
     public void onInv(InventoryClickEvent e) {
         if (!(e.getWhoClicked() instanceof Player p)) return;
         if (!dcfg.isEnabled() || !dcfg.miningEnabled() || !dcfg.miningModeEffect()) return;
-        Bukkit.getScheduler().runTask(plugin, () -> {
-            if (fatigueLevelForPercent(toolPercent(p.getInventory().getItemInMainHand())) <= 0) clearFatigue(p);
-        });
+        FatigueState st = plugin.getSessions().get(p).fatigue();
+        if (st == null || st.amp < 0) return;
+        // The click's result is only known afterwards
+        plugin.getTimers().schedule(p.getUniqueId(), 1L,
+                () -> onToolChanged(p, p.getInventory().getItemInMainHand()));
+    }
+
+    /** What we last applied; kept in the player's session. */
+    public static final class FatigueState {
+        int amp = -1;     // amplifier we applied, -1 = none
+        long expiresAt;   // server tick our effect runs out
+
+        FatigueState() {}
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+/**
+ * Crack overlays through Paper's {@link Player#sendBlockDamage(Location, float, int)}.
+ * No ProtocolLib and no packet interception; updates go to players the block's chunk is sent to.
+ */
+public final class NativeCrackRenderer implements CrackRenderer {
+
+    private final CrackStageCache stages = new CrackStageCache();
+
+    @Override
+    public void sendCrack(Player miner, Block block, int stage) {
+        if (miner == null || block == null) return;
+        int clamped = Math.max(-1, Math.min(9, stage));
+        int x = block.getX(), y = block.getY(), z = block.getZ();
+        int animationId = CrackRenderer.animationId(miner);
+        if (!stages.update(animationId, x, y, z, clamped)) return;
+
+        World world = block.getWorld();
+        int cx = x >> 4, cz = z >> 4;
+        if (!world.isChunkLoaded(cx, cz)) return;
+
+        // sendBlockDamage maps progress to stage as (int) (9 * progress) and 0 to "clear",
+        // so aim at the middle of each stage's band
+        float progress = clamped < 0 ? 0.0f : (clamped >= 9 ? 1.0f : (clamped + 0.5f) / 9.0f);
+        Location loc = block.getLocation();
+        for (Player viewer : world.getPlayersSeeingChunk(cx, cz)) {
+            viewer.sendBlockDamage(loc, progress, animationId);
+        }
+    }
+
+    @Override
+    public void forget(int animationId) {
+        stages.forget(animationId);
+    }
+
+    @Override
+    public void clearAll() {
+        stages.clear();
+    }
+}
@@ -0,0 +1,86 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.LongObjectMap;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Damage factors of projectiles in flight, keyed by entity id.
+ *
+ * Kept in memory while the projectile exists and dropped when it leaves the world. Only when
+ * its chunk unloads (or the plugin disables) is the factor written to the projectile's PDC, and
+ * it is read back when the chunk loads again, so stuck or slow projectiles survive restarts.
+ * A factor of exactly 1.0 is never registered.
+ */
+public final class ProjectileFactorRegistry implements Listener {
+
+    private record Entry(Projectile projectile, double factor) {}
+
+    private final LongObjectMap<Entry> byId = new LongObjectMap<>(64);
+
+    public void register(Projectile proj, double factor) {
+        if (factor == 1.0 || !Double.isFinite(factor)) {
+            byId.remove(proj.getEntityId());
+            return;
+        }
+        byId.put(proj.getEntityId(), new Entry(proj, factor));
+    }
+
+    /** @return the registered factor, or 1.0 */
+    public double factorOf(Projectile proj) {
+        Entry en = byId.get(proj.getEntityId());
+        return en != null ? en.factor : 1.0;
+    }
+
+    /** Write every live entry to PDC (disable) and forget them. */
+    public void persistAll() {
+        byId.forEachValue(en -> {
+            if (en.projectile.isValid()) write(en.projectile, en.factor);
+        });
+        byId.clear();
+    }
+
+    // ------------------------------------------------------------------------
+    // Lifecycle
+    // ------------------------------------------------------------------------
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRemove(EntityRemoveFromWorldEvent e) {
+        if (e.getEntity() instanceof Projectile) byId.remove(e.getEntity().getEntityId());
+    }
+
+    // Fires before the unloading entities are removed from the world
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onUnload(EntitiesUnloadEvent e) {
+        if (byId.isEmpty()) return;
+        for (Entity ent : e.getEntities()) {
+            if (!(ent instanceof Projectile proj)) continue;
+            Entry en = byId.remove(proj.getEntityId());
+            if (en != null) write(proj, en.factor);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLoad(EntitiesLoadEvent e) {
+        for (Entity ent : e.getEntities()) {
+            if (!(ent instanceof Projectile proj)) continue;
+            PersistentDataContainer pdc = proj.getPersistentDataContainer();
+            Double factor = pdc.get(PdcKeys.PROJECTILE_FACTOR, PersistentDataType.DOUBLE);
+            if (factor == null) continue;
+            pdc.remove(PdcKeys.PROJECTILE_FACTOR); // memory is authoritative again until the next unload
+            register(proj, factor);
+        }
+    }
+
+    private static void write(Projectile proj, double factor) {
+        proj.getPersistentDataContainer().set(PdcKeys.PROJECTILE_FACTOR, PersistentDataType.DOUBLE, factor);
+    }
+}
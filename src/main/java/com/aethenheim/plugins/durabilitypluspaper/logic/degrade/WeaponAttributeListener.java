@@ -0,0 +1,41 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSession;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.inventory.EquipmentSlotGroup;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Weapon attribute mode (weaponDamage.mode = "attribute"): the weapon curve becomes an
+ * ATTACK_DAMAGE modifier on the player, tied to the main hand. Vanilla then applies it before
+ * crits, sweeps and enchantments, and the client shows the real damage; melee hits do no work.
+ * Projectiles keep using the per-shot factor in {@link WeaponDamageListener}.
+ */
+public final class WeaponAttributeListener extends HeldItemModifierListener {
+
+    public WeaponAttributeListener(DurabilityPlusPlugin plugin, DegradationConfig dcfg) {
+        super(plugin, dcfg, Attribute.ATTACK_DAMAGE, PdcKeys.WEAPON_WEAR, EquipmentSlotGroup.MAINHAND);
+    }
+
+    @Override
+    protected boolean active() {
+        return dcfg.weaponDamageEnabled() && dcfg.weaponModeAttribute();
+    }
+
+    @Override
+    protected double multiplierFor(ItemStack weapon, double percent) {
+        return dcfg.weaponFactorFor(weapon.getType(), percent);
+    }
+
+    @Override
+    protected double applied(PlayerSession session) {
+        return session.weaponModifier();
+    }
+
+    @Override
+    protected void setApplied(PlayerSession session, double mult) {
+        session.setWeaponModifier(mult);
+    }
+}
@@ -0,0 +1,240 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.elytra;
+
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSession;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.TimingWheel;
+import com.destroystokyo.paper.event.player.PlayerElytraBoostEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityToggleGlideEvent;
+import org.bukkit.event.player.PlayerItemDamageEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Random;
+
+/**
+ * Distance-based elytra wear (elytra.wear.mode = "distance").
+ *
+ * Vanilla's once-per-second elytra damage is suppressed. Instead, each flight accumulates
+ * blocks flown (sampled periodically) and firework boosts in memory, and the resulting wear
+ * is written to the item in batches: every flushEveryBlocks and once more on landing. The flight
+ * lives in the player's session; quitting lands it through the session's close hook.
+ */
+public final class ElytraWearListener implements Listener {
+
+    private final DurabilityPlusPlugin plugin;
+    private final Random rng = new Random();
+
+    /** Players with a flight in their session */
+    private int flying;
+
+    /** Position sampler on the shared wheel; only runs while somebody is flying */
+    private TimingWheel.Timer sampler;
+
+    // config (re-read on reload)
+    private boolean distanceMode;
+    private long sampleTicks;
+    private double flushEveryBlocks;
+    private double blocksPerPoint;
+    private double boostPoints;
+    private boolean includeArmor;
+    private boolean autoProtect;
+
+    public ElytraWearListener(DurabilityPlusPlugin plugin) {
+        this.plugin = plugin;
+        reload();
+        plugin.getSessions().onClose(this::land);
+    }
+
+    public void reload() {
+        FileConfiguration cfg = plugin.getConfig();
+        this.distanceMode = "distance".equalsIgnoreCase(cfg.getString("elytra.wear.mode", "vanilla"));
+        this.sampleTicks = Math.max(1, cfg.getInt("elytra.wear.sampleTicks", 20));
+        this.flushEveryBlocks = Math.max(1.0, cfg.getDouble("elytra.wear.flushEveryBlocks", 200.0));
+        this.blocksPerPoint = Math.max(0.01, cfg.getDouble("elytra.wear.blocksPerPoint", 20.0));
+        this.boostPoints = Math.max(0.0, cfg.getDouble("elytra.wear.boostPoints", 1.0));
+        this.includeArmor = cfg.getBoolean("includeArmor", true);
+        this.autoProtect = cfg.getBoolean("autoProtect.enabled", true);
+        // pick up a new sample period
+        if (sampler != null) {
+            stopSampler();
+            ensureSampler();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Events
+    // ------------------------------------------------------------------------
+
+    // Runs before DurabilityService (HIGHEST, ignoreCancelled) so the vanilla tick never reaches it
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onElytraDamage(PlayerItemDamageEvent e) {
+        if (e.getItem().getType() != Material.ELYTRA) return;
+        if (!distanceMode) return;
+        e.setCancelled(true);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onGlide(EntityToggleGlideEvent e) {
+        if (!(e.getEntity() instanceof Player p)) return;
+        if (e.isGliding()) {
+            if (!distanceMode) return;
+            PlayerSession s = plugin.getSessions().get(p);
+            if (s.flight() == null) flying++;
+            s.setFlight(new Flight(p.getLocation()));
+            ensureSampler();
+        } else {
+            PlayerSession s = plugin.getSessions().peek(p);
+            if (s != null) land(p, s);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBoost(PlayerElytraBoostEvent e) {
+        PlayerSession s = plugin.getSessions().peek(e.getPlayer());
+        Flight f = s != null ? s.flight() : null;
+        if (f != null) f.boosts++;
+    }
+
+    /** Flush every in-flight account (reload/disable). */
+    public void shutdown() {
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            PlayerSession s = plugin.getSessions().peek(p);
+            if (s != null) land(p, s);
+        }
+        flying = 0;
+        stopSampler();
+    }
+
+    // ------------------------------------------------------------------------
+    // Sampling & accounting
+    // ------------------------------------------------------------------------
+    private void ensureSampler() {
+        if (sampler != null) return;
+        sampler = plugin.getTimers().repeat(null, sampleTicks, sampleTicks, this::sample);
+    }
+
+    private void stopSampler() {
+        if (sampler != null) {
+            sampler.cancel();
+            sampler = null;
+        }
+    }
+
+    private void sample() {
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            PlayerSession s = plugin.getSessions().peek(p);
+            Flight f = s != null ? s.flight() : null;
+            if (f == null) continue;
+
+            f.advance(p.getLocation());
+            if (f.blocks >= flushEveryBlocks) flush(p, f, false);
+        }
+        if (flying <= 0) stopSampler();
+    }
+
+    private void land(Player p, PlayerSession s) {
+        Flight f = s.flight();
+        if (f == null) return;
+        s.setFlight(null);
+        flying--;
+        f.advance(p.getLocation());
+        flush(p, f, true);
+        if (flying <= 0) stopSampler();
+    }
+
+    /** Convert accumulated distance/boosts into whole durability points and write them once. */
+    private void flush(Player p, Flight f, boolean landing) {
+        ItemStack elytra = p.getInventory().getChestplate();
+        if (elytra == null || elytra.getType() != Material.ELYTRA) return;
+
+        double factor = includeArmor
+                ? plugin.getService().effectiveMultiplier(p, Material.ELYTRA) / plugin.getNativeMaxDamage().sync(elytra)
+                : 1.0;
+
+        double expected = (f.blocks / blocksPerPoint + f.boosts * boostPoints) * Math.max(0.0, factor) + f.carry;
+        f.blocks = 0.0;
+        f.boosts = 0;
+
+        int out = (int) Math.floor(expected);
+        f.carry = expected - out;
+        if (landing) {
+            // Settle the remainder the same way the damage handler does: fractional roll
+            if (rng.nextDouble() < f.carry) out++;
+            f.carry = 0.0;
+        }
+        if (out <= 0) return;
+        applyWear(p, elytra, out);
+    }
+
+    private void applyWear(Player p, ItemStack elytra, int points) {
+        ItemMeta meta = elytra.getItemMeta();
+        if (!(meta instanceof Damageable d) || d.isUnbreakable()) return;
+
+        int max = ItemUtil.maxDurability(elytra);
+        int edge = Math.max(0, max - 1);
+        int before = d.getDamage();
+        if (before >= edge) return;
+
+        // Like vanilla, flight wear stops an elytra at its last point instead of destroying it
+        int next = Math.min(edge, before + points);
+        d.setDamage(next);
+
+        boolean nowBroken = next >= edge && autoProtect;
+        if (nowBroken) {
+            try {
+                meta.getPersistentDataContainer().set(PdcKeys.BROKEN, PersistentDataType.BYTE, (byte) 1);
+            } catch (Throwable ignored) {}
+        }
+        elytra.setItemMeta(meta);
+        if (nowBroken) BrokenState.apply(elytra);
+        plugin.getLoreUtil().updateLore(elytra);
+
+        if (nowBroken) plugin.getNotifications().broken(p);
+        else plugin.getNotifications().lowDurability(p, elytra);
+    }
+
+    // ------------------------------------------------------------------------
+    // Flight
+    // ------------------------------------------------------------------------
+    /** One flight's unsettled wear; kept in the player's session. */
+    public static final class Flight {
+        World world;
+        double x, y, z;
+        double blocks;   // flown since last flush
+        int boosts;      // firework boosts since last flush
+        double carry;    // fractional points carried between flushes
+
+        Flight(Location start) {
+            moveTo(start);
+        }
+
+        void advance(Location now) {
+            if (now.getWorld() == world) {
+                double dx = now.getX() - x, dy = now.getY() - y, dz = now.getZ() - z;
+                blocks += Math.sqrt(dx * dx + dy * dy + dz * dz);
+            }
+            moveTo(now);
+        }
+
+        private void moveTo(Location l) {
+            this.world = l.getWorld();
+            this.x = l.getX();
+            this.y = l.getY();
+            this.z = l.getZ();
+        }
+    }
+}
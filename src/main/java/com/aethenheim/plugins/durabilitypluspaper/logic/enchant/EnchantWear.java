@@ -0,0 +1,134 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.enchant;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.datacomponent.item.ItemEnchantments;
+import io.papermc.paper.registry.RegistryAccess;
+import io.papermc.paper.registry.RegistryKey;
+import net.kyori.adventure.key.InvalidKeyException;
+import net.kyori.adventure.key.Key;
+import org.bukkit.Registry;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Enchantment-aware wear (enchantWear.enabled).
+ *
+ * Vanilla rolls Unbreaking before our damage handler sees the event, so the handler instead
+ * starts from the event's original (pre-Unbreaking) damage and applies a factor derived from the
+ * item's enchantments: a configured Unbreaking table (separate for armor), a Mending factor and
+ * per-level factors for any other enchantment key, including other plugins' enchantments.
+ *
+ * The factor depends only on the enchantment signature (the stack's enchantment component and
+ * whether it is armor), so it is resolved once per signature and cached; the hot path is one
+ * component read and one hash lookup.
+ */
+public final class EnchantWear {
+
+    /** Soft bound; the cache is simply dropped when it grows past this. */
+    private static final int MAX_ENTRIES = 1024;
+
+    private final boolean enabled;
+    private final double[] unbreakingTools;  // by level, [0] unused
+    private final double[] unbreakingArmor;
+    private final double mending;
+    private final Map<Enchantment, Double> custom = new IdentityHashMap<>();
+
+    private final Map<Signature, Double> cache = new HashMap<>();
+
+    private record Signature(ItemEnchantments enchantments, boolean armor) {}
+
+    public EnchantWear(FileConfiguration cfg, Logger log) {
+        ConfigurationSection sec = cfg.getConfigurationSection("enchantWear");
+        this.enabled = sec != null && sec.getBoolean("enabled", false);
+        this.unbreakingTools = table(sec != null ? sec.getConfigurationSection("unbreaking.tools") : null);
+        this.unbreakingArmor = table(sec != null ? sec.getConfigurationSection("unbreaking.armor") : null);
+        this.mending = sec != null ? Math.max(0.0, sec.getDouble("mending", 1.0)) : 1.0;
+        if (!enabled) return;
+
+        ConfigurationSection extra = sec.getConfigurationSection("custom");
+        if (extra == null) return;
+        Registry<Enchantment> registry = RegistryAccess.registryAccess().getRegistry(RegistryKey.ENCHANTMENT);
+        for (String k : extra.getKeys(false)) {
+            Enchantment ench = null;
+            try {
+                ench = registry.get(Key.key(k));
+            } catch (InvalidKeyException ignored) {}
+            if (ench == null) {
+                log.warning("[DurabilityPlus] enchantWear.custom: unknown enchantment '" + k + "'");
+                continue;
+            }
+            custom.put(ench, Math.max(0.0, extra.getDouble(k, 1.0)));
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Wear factor for the item's enchantments (1.0 without any that matter). */
+    public double factor(ItemStack item, boolean armor) {
+        ItemEnchantments ench = item.getData(DataComponentTypes.ENCHANTMENTS);
+        return ench != null ? factor(ench, armor) : 1.0;
+    }
+
+    /** Wear factor for an enchantment component, resolved once per signature. */
+    double factor(ItemEnchantments ench, boolean armor) {
+        Signature sig = new Signature(ench, armor);
+        Double cached = cache.get(sig);
+        if (cached != null) return cached;
+
+        double f = compute(ench, armor);
+        if (cache.size() >= MAX_ENTRIES) cache.clear();
+        cache.put(sig, f);
+        return f;
+    }
+
+    private double compute(ItemEnchantments ench, boolean armor) {
+        double f = 1.0;
+        for (Map.Entry<Enchantment, Integer> en : ench.enchantments().entrySet()) {
+            Enchantment e = en.getKey();
+            int level = en.getValue();
+            if (e == Enchantment.UNBREAKING) {
+                f *= unbreaking(level, armor);
+            } else if (e == Enchantment.MENDING) {
+                f *= mending;
+            }
+            Double c = custom.get(e);
+            if (c != null) f *= Math.pow(c, level);
+        }
+        return f;
+    }
+
+    /** Configured factor for the level, or vanilla's average when the table does not cover it. */
+    double unbreaking(int level, boolean armor) {
+        double[] table = armor ? unbreakingArmor : unbreakingTools;
+        if (level < table.length && table[level] >= 0.0) return table[level];
+        double skip = 1.0 / (level + 1);
+        return armor ? 0.6 + 0.4 * skip : skip;
+    }
+
+    private static double[] table(ConfigurationSection sec) {
+        double[] t = new double[6];
+        Arrays.fill(t, -1.0);
+        if (sec == null) return t;
+        for (String k : sec.getKeys(false)) {
+            try {
+                int level = Integer.parseInt(k);
+                if (level < 1) continue;
+                if (level >= t.length) {
+                    int old = t.length;
+                    t = Arrays.copyOf(t, level + 1);
+                    Arrays.fill(t, old, t.length, -1.0);
+                }
+                t[level] = Math.max(0.0, sec.getDouble(k));
+            } catch (NumberFormatException ignored) {}
+        }
+        return t;
+    }
+}
@@ -1,77 +1,70 @@
 package com.aethenheim.plugins.durabilitypluspaper.logic.guard;
 
 import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
-import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
-import com.aethenheim.plugins.durabilitypluspaper.logic.util.Notify;
-import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-
+/**
+ * What is left of event guarding once {@link BrokenState} strips a broken item's components.
+ *
+ * Mining, melee and shield blocking stop working through the components. Right-click uses that
+ * are hard-coded per item (stripping, tilling, paths, shearing, fishing, lighting fire, brushing,
+ * trident throws) and bow shots are still guarded here, but only for those materials; every
+ * other interact returns after an array lookup, without reading the item.
+ */
 public class BrokenItemGuard implements Listener {
     private final DurabilityPlusPlugin plugin;
-    private final Map<UUID, Long> notifyCd = new ConcurrentHashMap<>();
-
-    public BrokenItemGuard(DurabilityPlusPlugin plugin) { this.plugin = plugin; }
-
-    private boolean shouldCancel(ItemStack item) {
-        return item != null && ItemUtil.isBroken(item);
-    }
-
-    private void maybeNotify(Player p) {
-        FileConfiguration cfg = plugin.getConfig();
-        if (!cfg.getBoolean("autoProtect.notifyOnUse", true)) return;
 
-        long now = System.currentTimeMillis();
-        long cdMs = 1500; // small anti-spam cooldown
-        Long last = notifyCd.get(p.getUniqueId());
-        if (last != null && now - last < cdMs) return;
-        notifyCd.put(p.getUniqueId(), now);
+    /** Materials whose right-click use is not driven by a component, by ordinal */
+    private static final boolean[] USE_GUARDED = new boolean[Material.values().length];
 
-        String mode = cfg.getString("autoProtect.notifyMode", "chat").toLowerCase();
-        String msg = "§eItem is broken — repair it to use";
-        if ("actionbar".equals(mode)) {
-            // strip color for actionbar for readability
-            Notify.actionBar(p, "Item is broken — repair to use");
-        } else {
-            Notify.chat(p, msg);
+    static {
+        for (Material m : Tag.ITEMS_AXES.getValues()) USE_GUARDED[m.ordinal()] = true;
+        for (Material m : Tag.ITEMS_HOES.getValues()) USE_GUARDED[m.ordinal()] = true;
+        for (Material m : Tag.ITEMS_SHOVELS.getValues()) USE_GUARDED[m.ordinal()] = true;
+        for (Material m : new Material[]{
+                Material.SHEARS, Material.FLINT_AND_STEEL, Material.FISHING_ROD, Material.BRUSH,
+                Material.TRIDENT, Material.CARROT_ON_A_STICK, Material.WARPED_FUNGUS_ON_A_STICK
+        }) {
+            USE_GUARDED[m.ordinal()] = true;
         }
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onInteract(PlayerInteractEvent e) {
-        if (shouldCancel(e.getItem())) { e.setCancelled(true); maybeNotify(e.getPlayer()); }
+    public BrokenItemGuard(DurabilityPlusPlugin plugin) {
+        this.plugin = plugin;
     }
 
-    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onBreak(BlockBreakEvent e) {
-        if (shouldCancel(e.getPlayer().getInventory().getItemInMainHand())) {
-            e.setCancelled(true); maybeNotify(e.getPlayer());
+    private boolean shouldCancel(Entity holder, ItemStack item) {
+        if (item == null) return false;
+        // Rust may have pushed the item to the protected edge while it was unused
+        if (plugin.getRustDecay().apply(item) && holder instanceof Player p) {
+            plugin.getFactorCache().invalidate(p);
         }
+        return BrokenState.isBroken(item);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
-    public void onMelee(EntityDamageByEntityEvent e) {
-        if (e.getDamager() instanceof Player p) {
-            if (shouldCancel(p.getInventory().getItemInMainHand())) { e.setCancelled(true); maybeNotify(p); }
-        }
+    public void onInteract(PlayerInteractEvent e) {
+        if (e.getAction() != Action.RIGHT_CLICK_BLOCK && e.getAction() != Action.RIGHT_CLICK_AIR) return;
+        ItemStack item = e.getItem();
+        if (item == null || !USE_GUARDED[item.getType().ordinal()]) return;
+        if (shouldCancel(e.getPlayer(), item)) { e.setCancelled(true); plugin.getNotifications().brokenUse(e.getPlayer()); }
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onShoot(EntityShootBowEvent e) {
-        if (shouldCancel(e.getBow())) {
+        if (shouldCancel(e.getEntity(), e.getBow())) {
             e.setCancelled(true);
-            if (e.getEntity() instanceof Player p) maybeNotify(p);
+            if (e.getEntity() instanceof Player p) plugin.getNotifications().brokenUse(p);
         }
     }
 }
@@ -0,0 +1,97 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.guard;
+
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import io.papermc.paper.datacomponent.DataComponentType;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import net.kyori.adventure.key.InvalidKeyException;
+import net.kyori.adventure.key.Key;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.List;
+
+/**
+ * Makes broken items inert through their data components instead of guarding events.
+ *
+ * A broken item loses the components that make it work: TOOL (mining speed, correct-tool drops),
+ * WEAPON, BLOCKS_ATTACKS (shields), GLIDER, and for held items ATTRIBUTE_MODIFIERS (attack damage
+ * and speed). Worn armor keeps its modifiers and stays equippable; the armor curve already
+ * covers it. The client sees the same components, so it predicts the result and nothing has to
+ * be cancelled server-side. Optionally the item model is swapped (autoProtect.brokenItemModel).
+ *
+ * Restoring resets the components to the item type's defaults, so a custom component value set
+ * by another plugin before the item broke is not brought back.
+ *
+ * Callers set or clear {@link PdcKeys#BROKEN} in the meta as before and call {@link #apply} or
+ * {@link #restore} after {@code setItemMeta}.
+ */
+public final class BrokenState {
+    private BrokenState() {}
+
+    private static final List<DataComponentType> HELD = List.of(
+            DataComponentTypes.TOOL,
+            DataComponentTypes.WEAPON,
+            DataComponentTypes.BLOCKS_ATTACKS,
+            DataComponentTypes.GLIDER
+    );
+
+    /** Item model shown while broken (null = keep the item's own) */
+    private static Key brokenModel;
+
+    /** Read autoProtect.brokenItemModel (enable / reload). */
+    public static void configure(FileConfiguration cfg) {
+        String raw = cfg.getString("autoProtect.brokenItemModel", "");
+        brokenModel = null;
+        if (raw == null || raw.isBlank()) return;
+        try {
+            brokenModel = Key.key(raw.trim());
+        } catch (InvalidKeyException ignored) {
+            // invalid key → no model swap
+        }
+    }
+
+    /** Whether the item carries the BROKEN flag (reads the PDC without copying the meta). */
+    public static boolean isBroken(ItemStack item) {
+        if (item == null || item.isEmpty()) return false;
+        return item.getPersistentDataContainer().has(PdcKeys.BROKEN, PersistentDataType.BYTE);
+    }
+
+    /** Strip the working components from an item that was just marked broken. */
+    public static void apply(ItemStack item) {
+        if (item == null || item.isEmpty()) return;
+        for (DataComponentType type : HELD) {
+            if (item.hasData(type)) item.unsetData(type);
+        }
+        if (!item.hasData(DataComponentTypes.EQUIPPABLE) && item.hasData(DataComponentTypes.ATTRIBUTE_MODIFIERS)) {
+            item.unsetData(DataComponentTypes.ATTRIBUTE_MODIFIERS);
+        }
+
+        if (brokenModel != null && !item.getPersistentDataContainer().has(PdcKeys.BROKEN_MODEL, PersistentDataType.STRING)) {
+            Key own = item.getData(DataComponentTypes.ITEM_MODEL);
+            String saved = own != null ? own.asString() : "";
+            item.editPersistentDataContainer(pdc -> pdc.set(PdcKeys.BROKEN_MODEL, PersistentDataType.STRING, saved));
+            item.setData(DataComponentTypes.ITEM_MODEL, brokenModel);
+        }
+    }
+
+    /** Give a repaired item its components (and model) back. */
+    public static void restore(ItemStack item) {
+        if (item == null || item.isEmpty()) return;
+        for (DataComponentType type : HELD) {
+            if (item.isDataOverridden(type)) item.resetData(type);
+        }
+        if (item.isDataOverridden(DataComponentTypes.ATTRIBUTE_MODIFIERS) && !item.hasData(DataComponentTypes.ATTRIBUTE_MODIFIERS)) {
+            item.resetData(DataComponentTypes.ATTRIBUTE_MODIFIERS);
+        }
+
+        String saved = item.getPersistentDataContainer().get(PdcKeys.BROKEN_MODEL, PersistentDataType.STRING);
+        if (saved == null) return;
+        item.editPersistentDataContainer(pdc -> pdc.remove(PdcKeys.BROKEN_MODEL));
+        if (saved.isEmpty()) {
+            item.resetData(DataComponentTypes.ITEM_MODEL);
+        } else {
+            item.setData(DataComponentTypes.ITEM_MODEL, Key.key(saved));
+        }
+    }
+}
@@ -1,27 +1,129 @@
 package com.aethenheim.plugins.durabilitypluspaper.logic.mending;
 
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
 import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
+import com.aethenheim.plugins.durabilitypluspaper.logic.session.PlayerSession;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import io.papermc.paper.datacomponent.DataComponentTypes;
 import org.bukkit.Material;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerItemMendEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
 
+/**
+ * The plugin's only mending handler.
+ *
+ * The repair of each orb is scaled by mending.factor and the fraction is carried per slot in the
+ * player's session into the next orb, so a factor of 0.3 repairs exactly 30% over time instead of flooring
+ * small orbs to nothing. Vanilla still writes the (scaled) repair in place, which keeps its
+ * experience bookkeeping intact; everything the plugin does after a repair (clearing BROKEN,
+ * lore, cached factors, held-item modifiers) is collected and done once per item one tick later,
+ * so a burst of orbs from an XP farm costs one lore refresh per item.
+ */
 public class MendingRebalanceListener implements Listener {
+    private static final EquipmentSlot[] SLOTS = EquipmentSlot.values();
+
+    /** Absorbs the rounding error of summed fractions (ten orbs at 0.3 must make 3 points, not 2) */
+    private static final double CARRY_EPSILON = 1e-9;
+
     private final DurabilityPlusPlugin plugin;
+
     public MendingRebalanceListener(DurabilityPlusPlugin plugin) { this.plugin = plugin; }
 
+    /** Mending state of one player; kept in the player's session. */
+    public static final class Pending {
+        final double[] carry = new double[SLOTS.length];   // fractional repair not yet applied, per slot
+        final Material[] carryType = new Material[SLOTS.length]; // item the carry belongs to
+        final boolean[] dirty = new boolean[SLOTS.length]; // repaired since the last flush
+        boolean scheduled;
+
+        Pending() {}
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onMend(PlayerItemMendEvent e) {
         var cfg = plugin.getConfig();
+        ItemStack item = e.getItem();
 
-        if (!cfg.getBoolean("elytra.repairable", true) && e.getItem().getType() == Material.ELYTRA) {
+        if (!cfg.getBoolean("elytra.repairable", true) && item.getType() == Material.ELYTRA) {
             e.setCancelled(true);
             return;
         }
 
         double factor = Math.max(0.0, cfg.getDouble("mending.factor", 1.0));
-        int amount = (int) Math.floor(e.getRepairAmount() * factor);
-        e.setRepairAmount(amount);
+        if (factor <= 0.0) {
+            e.setCancelled(true);
+            return;
+        }
+
+        Player p = e.getPlayer();
+        PlayerSession session = plugin.getSessions().get(p);
+        Pending pd = session.mending();
+        if (pd == null) {
+            pd = new Pending();
+            session.setMending(pd);
+        }
+        int i = e.getSlot().ordinal();
+        Integer damage = item.getData(DataComponentTypes.DAMAGE);
+        int repair = scaledRepair(pd, i, item.getType(), e.getRepairAmount(), factor, damage != null ? damage : 0);
+        if (repair != e.getRepairAmount()) e.setRepairAmount(repair); // 0: the orb only fed the carry
+        if (repair <= 0) return;
+
+        pd.dirty[i] = true;
+        if (!pd.scheduled) {
+            pd.scheduled = true;
+            // expire: still runs if the player quits within the tick
+            Pending flushed = pd;
+            plugin.getTimers().expire(p.getUniqueId(), 1L, () -> flush(p, flushed));
+        }
+    }
+
+    /**
+     * Scale one orb's repair of slot {@code i} and carry the fraction to the next orb. The carry
+     * starts over when a different item is in the slot.
+     * @return whole points to repair now, at most {@code damage}
+     */
+    static int scaledRepair(Pending pd, int i, Material type, int orbRepair, double factor, int damage) {
+        if (pd.carryType[i] != type) {
+            pd.carryType[i] = type;
+            pd.carry[i] = 0.0;
+        }
+
+        double amount = orbRepair * factor + pd.carry[i];
+        int whole = (int) (amount + CARRY_EPSILON);
+        pd.carry[i] = Math.max(0.0, amount - whole);
+        return Math.min(whole, damage);
+    }
+
+    private void flush(Player p, Pending pd) {
+        pd.scheduled = false;
+        for (int i = 0; i < SLOTS.length; i++) {
+            if (!pd.dirty[i]) continue;
+            pd.dirty[i] = false;
+            ItemStack item = p.getInventory().getItem(SLOTS[i]);
+            if (item.isEmpty()) continue;
+
+            if (BrokenState.isBroken(item)) clearBroken(item);
+            plugin.getLoreUtil().updateLore(item);
+        }
+        plugin.getFactorCache().invalidate(p);
+        plugin.refreshHeldModifiers(p);
+    }
+
+    /** A mended item off the protected edge is usable again. */
+    private static void clearBroken(ItemStack item) {
+        ItemMeta meta = item.getItemMeta();
+        if (!(meta instanceof Damageable d)) return;
+        if (d.getDamage() >= ItemUtil.maxDurability(item) - 1) return;
+        meta.getPersistentDataContainer().remove(PdcKeys.BROKEN);
+        item.setItemMeta(meta);
+        BrokenState.restore(item);
     }
 }
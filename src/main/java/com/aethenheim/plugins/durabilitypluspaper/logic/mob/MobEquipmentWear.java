@@ -0,0 +1,358 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.mob;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.NativeMaxDamage;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.DegradationConfig;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.LongObjectMap;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.EntityEffect;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.inventory.EntityEquipment;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Equipment wear for mobs and armor stands (mobWear.enabled).
+ *
+ * Vanilla never wears non-player gear, and handling every hit on every mob would be too costly
+ * for mob farms, so hits are sampled: with probability {@code sampleChance} a hit is accounted,
+ * and its wear is scaled by 1/sampleChance so the expected wear stays the same. Each chunk gets
+ * a budget of samples per second on top of that.
+ *
+ * Sampled wear is kept per entity as a small float array (one slot per equipment slot) and
+ * written to the item only when a slot has {@code flushAtPoints} whole points pending, before a
+ * lethal hit, or when the entity unloads. The degradation curves (armor/weapon) are applied
+ * from factors cached in the same state together with the type and damage of the items they
+ * were computed for; a picked-up or swapped item, or a flush, makes them recompute.
+ */
+public final class MobEquipmentWear implements Listener {
+
+    private static final EquipmentSlot[] SLOTS = EquipmentSlot.values();
+    private static final EquipmentSlot[] ARMOR = {
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+
+    /** Hits that wear armor (vanilla: anything that armor can reduce) */
+    private static final Set<DamageCause> ARMOR_CAUSES = EnumSet.of(
+            DamageCause.ENTITY_ATTACK, DamageCause.ENTITY_SWEEP_ATTACK, DamageCause.PROJECTILE,
+            DamageCause.ENTITY_EXPLOSION, DamageCause.BLOCK_EXPLOSION, DamageCause.CONTACT,
+            DamageCause.FALLING_BLOCK, DamageCause.THORNS, DamageCause.LIGHTNING, DamageCause.HOT_FLOOR,
+            DamageCause.CAMPFIRE
+    );
+
+    private final DurabilityPlusPlugin plugin;
+
+    /** Pending wear per entity id */
+    private final LongObjectMap<MobState> states = new LongObjectMap<>(64);
+
+    /** Samples taken per chunk (by world, then chunk key) in the current one-second window */
+    private final Map<UUID, LongObjectMap<int[]>> chunkSamples = new HashMap<>();
+    private long windowStart;
+
+    // config (re-read on reload)
+    private boolean enabled;
+    private double sampleChance;
+    private int maxPerChunkPerSecond;
+    private int flushAtPoints;
+    private boolean breakItems;
+    private boolean applyCurves;
+
+    public MobEquipmentWear(DurabilityPlusPlugin plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    public void reload() {
+        FileConfiguration cfg = plugin.getConfig();
+        this.enabled = cfg.getBoolean("mobWear.enabled", false);
+        this.sampleChance = Math.max(0.001, Math.min(1.0, cfg.getDouble("mobWear.sampleChance", 0.25)));
+        this.maxPerChunkPerSecond = Math.max(0, cfg.getInt("mobWear.maxSamplesPerChunkPerSecond", 40));
+        this.flushAtPoints = Math.max(1, cfg.getInt("mobWear.flushAtPoints", 8));
+        this.breakItems = cfg.getBoolean("mobWear.breakItems", true);
+        this.applyCurves = cfg.getBoolean("mobWear.applyCurves", true);
+        states.forEachValue(MobState::invalidateFactors);
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Write all pending wear (disable) and forget the states. */
+    public void shutdown() {
+        states.forEachValue(st -> {
+            if (st.entity.isValid()) flushAll(st);
+        });
+        states.clear();
+        chunkSamples.clear();
+    }
+
+    private static final class MobState {
+        final LivingEntity entity;
+        final float[] pending = new float[SLOTS.length]; // points not yet written, per slot
+        double armorFactor = Double.NaN;
+        double weaponFactor = Double.NaN;
+        // what the cached factors were computed for
+        final Material[] armorTypes = new Material[ARMOR.length];
+        final int[] armorDamage = new int[ARMOR.length];
+        Material weaponType;
+        int weaponDamage;
+
+        MobState(LivingEntity entity) {
+            this.entity = entity;
+        }
+
+        void invalidateFactors() {
+            armorFactor = Double.NaN;
+            weaponFactor = Double.NaN;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Events
+    // ------------------------------------------------------------------------
+
+    /** A mob (or armor stand) is hurt: armor curve on the damage, sampled armor wear. */
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onHurt(EntityDamageEvent e) {
+        if (!enabled) return;
+        if (!(e.getEntity() instanceof LivingEntity mob) || mob instanceof Player) return;
+        EntityEquipment eq = mob.getEquipment();
+        if (eq == null || !ARMOR_CAUSES.contains(e.getCause())) return;
+
+        MobState st = states.get(mob.getEntityId());
+        if (applyCurves && (st != null || wearsArmor(eq))) {
+            if (st == null) st = state(mob);
+            if (armorChanged(st, eq) || Double.isNaN(st.armorFactor)) st.armorFactor = armorFactor(eq);
+            if (st.armorFactor != 1.0) e.setDamage(e.getDamage() * st.armorFactor);
+        }
+
+        if (sampled(mob) && wearsArmor(eq)) {
+            if (st == null) st = state(mob);
+            // Vanilla armor wear: max(1, damage / 4) per piece
+            float points = (float) (Math.max(1.0, Math.floor(e.getDamage() / 4.0)) / sampleChance);
+            for (EquipmentSlot slot : ARMOR) addWear(st, eq, slot, points);
+        }
+    }
+
+    /** Last chance before a lethal hit: write pending wear so the drops carry it. */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLethal(EntityDamageEvent e) {
+        if (!enabled || states.isEmpty()) return;
+        if (!(e.getEntity() instanceof LivingEntity mob) || mob instanceof Player) return;
+        if (e.getFinalDamage() < mob.getHealth()) return;
+        MobState st = states.remove(mob.getEntityId());
+        if (st != null) flushAll(st);
+    }
+
+    /**
+     * Combat pipeline stage for a non-player attacker: weapon curve on the damage, sampled
+     * weapon wear.
+     */
+    public boolean onMobAttack(EntityDamageByEntityEvent e, LivingEntity mob) {
+        if (!enabled || mob instanceof Player) return true;
+        EntityEquipment eq = mob.getEquipment();
+        if (eq == null) return true;
+        ItemStack weapon = eq.getItemInMainHand();
+        if (!ItemUtil.isDamageable(weapon) || ItemUtil.isUnbreakable(weapon)) return true;
+
+        MobState st = states.get(mob.getEntityId());
+        if (applyCurves) {
+            if (st == null) st = state(mob);
+            int damage = damageOf(weapon);
+            if (Double.isNaN(st.weaponFactor) || st.weaponType != weapon.getType() || st.weaponDamage != damage) {
+                st.weaponType = weapon.getType();
+                st.weaponDamage = damage;
+                DegradationConfig dcfg = degradation();
+                st.weaponFactor = dcfg.weaponDamageEnabled()
+                        ? dcfg.weaponFactorFor(weapon.getType(), ItemUtil.remainingPercent(weapon))
+                        : 1.0;
+            }
+            if (st.weaponFactor != 1.0) e.setDamage(e.getDamage() * st.weaponFactor);
+        }
+
+        if (sampled(mob)) {
+            if (st == null) st = state(mob);
+            addWear(st, eq, EquipmentSlot.HAND, (float) (1.0 / sampleChance));
+        }
+        return true;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onUnload(EntitiesUnloadEvent e) {
+        if (states.isEmpty()) return;
+        for (Entity ent : e.getEntities()) {
+            MobState st = states.remove(ent.getEntityId());
+            if (st != null) flushAll(st);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRemove(EntityRemoveFromWorldEvent e) {
+        if (!states.isEmpty()) states.remove(e.getEntity().getEntityId());
+    }
+
+    // ------------------------------------------------------------------------
+    // Sampling
+    // ------------------------------------------------------------------------
+    private boolean sampled(LivingEntity mob) {
+        if (sampleChance < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleChance) return false;
+        if (maxPerChunkPerSecond <= 0) return true;
+
+        long now = Bukkit.getCurrentTick();
+        if (now - windowStart >= 20) {
+            chunkSamples.values().forEach(LongObjectMap::clear);
+            windowStart = now;
+        }
+        var loc = mob.getLocation();
+        LongObjectMap<int[]> world = chunkSamples.computeIfAbsent(mob.getWorld().getUID(), w -> new LongObjectMap<>(64));
+        long key = Chunk.getChunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+        int[] count = world.get(key);
+        if (count == null) world.put(key, count = new int[1]);
+        return count[0]++ < maxPerChunkPerSecond;
+    }
+
+    private MobState state(LivingEntity mob) {
+        MobState st = states.get(mob.getEntityId());
+        if (st == null) states.put(mob.getEntityId(), st = new MobState(mob));
+        return st;
+    }
+
+    private static boolean wearsArmor(EntityEquipment eq) {
+        for (EquipmentSlot slot : ARMOR) {
+            if (ItemUtil.isDamageable(eq.getItem(slot))) return true;
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------------------
+    // Wear accounting
+    // ------------------------------------------------------------------------
+    private void addWear(MobState st, EntityEquipment eq, EquipmentSlot slot, float basePoints) {
+        ItemStack item = eq.getItem(slot);
+        if (!ItemUtil.isDamageable(item) || ItemUtil.isUnbreakable(item)) return;
+
+        double mult = plugin.getService().baseMultiplier(st.entity.getWorld(), item.getType())
+                / NativeMaxDamage.builtIn(item);
+        if (mult <= 0.0) return;
+
+        int i = slot.ordinal();
+        st.pending[i] += (float) (basePoints * mult);
+        if (st.pending[i] >= flushAtPoints) flush(st, eq, slot);
+    }
+
+    private void flushAll(MobState st) {
+        EntityEquipment eq = st.entity.getEquipment();
+        if (eq == null) return;
+        for (EquipmentSlot slot : SLOTS) {
+            if (st.pending[slot.ordinal()] >= 1.0f) flush(st, eq, slot);
+        }
+    }
+
+    /** Write the whole points pending for one slot (fraction carries over). */
+    private void flush(MobState st, EntityEquipment eq, EquipmentSlot slot) {
+        int i = slot.ordinal();
+        int points = (int) st.pending[i];
+        if (points <= 0) return;
+        st.pending[i] -= points;
+
+        ItemStack item = eq.getItem(slot);
+        ItemMeta meta = item.getItemMeta();
+        if (!(meta instanceof Damageable d) || d.isUnbreakable()) return;
+
+        int max = ItemUtil.maxDurability(item);
+        int next = d.getDamage() + points;
+        if (next >= max) {
+            if (breakItems) {
+                eq.setItem(slot, null);
+                st.entity.playEffect(breakEffect(slot));
+                st.pending[i] = 0f;
+                st.invalidateFactors();
+                return;
+            }
+            next = Math.max(0, max - 1);
+        }
+        d.setDamage(next);
+        item.setItemMeta(meta);
+        plugin.getLoreUtil().updateLore(item);
+        eq.setItem(slot, item, true);
+        st.invalidateFactors(); // durability moved: curves may give another step
+    }
+
+    private static EntityEffect breakEffect(EquipmentSlot slot) {
+        return switch (slot) {
+            case HAND -> EntityEffect.BREAK_EQUIPMENT_MAIN_HAND;
+            case OFF_HAND -> EntityEffect.BREAK_EQUIPMENT_OFF_HAND;
+            case HEAD -> EntityEffect.BREAK_EQUIPMENT_HELMET;
+            case CHEST -> EntityEffect.BREAK_EQUIPMENT_CHESTPLATE;
+            case LEGS -> EntityEffect.BREAK_EQUIPMENT_LEGGINGS;
+            case FEET -> EntityEffect.BREAK_EQUIPMENT_BOOTS;
+            default -> EntityEffect.BREAK_EQUIPMENT_BODY;
+        };
+    }
+
+    // ------------------------------------------------------------------------
+    // Curves
+    // ------------------------------------------------------------------------
+    private DegradationConfig degradation() {
+        return plugin.getDegradationConfig();
+    }
+
+    private static int damageOf(ItemStack item) {
+        Integer d = item.getData(DataComponentTypes.DAMAGE);
+        return d != null ? d : 0;
+    }
+
+    /** Record the worn pieces' type and damage; true if any differs from the cached factor's. */
+    private static boolean armorChanged(MobState st, EntityEquipment eq) {
+        boolean changed = false;
+        for (int i = 0; i < ARMOR.length; i++) {
+            ItemStack piece = eq.getItem(ARMOR[i]);
+            Material type = piece.getType();
+            int damage = damageOf(piece);
+            if (st.armorTypes[i] != type || st.armorDamage[i] != damage) {
+                st.armorTypes[i] = type;
+                st.armorDamage[i] = damage;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /** Average of the armor curve over worn damageable pieces (same rule as for players). */
+    private double armorFactor(EntityEquipment eq) {
+        DegradationConfig dcfg = degradation();
+        if (!dcfg.armorProtectionEnabled()) return 1.0;
+        double sum = 0.0;
+        int count = 0;
+        for (EquipmentSlot slot : ARMOR) {
+            ItemStack piece = eq.getItem(slot);
+            if (!ItemUtil.isDamageable(piece) || ItemUtil.isUnbreakable(piece)) continue;
+            int percent = Math.max(0, Math.min(100, (int) Math.round(ItemUtil.remainingPercent(piece))));
+            sum += dcfg.armorFactorFor(piece.getType(), percent);
+            count++;
+        }
+        return count == 0 ? 1.0 : sum / count;
+    }
+}
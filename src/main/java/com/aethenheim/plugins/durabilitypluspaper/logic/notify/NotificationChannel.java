@@ -0,0 +1,27 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.notify;
+
+/**
+ * One player's notification state (held by the player's session; main thread only).
+ * Per-kind cooldowns are tick deadlines; the sticky action bar is re-sent by the shared ticker
+ * in {@link Notifications} until it expires or a higher-priority message replaces it.
+ */
+public final class NotificationChannel {
+
+    /** Server tick from which each kind may be delivered again, by {@link Notifications.Kind} ordinal */
+    final int[] readyAt = new int[Notifications.Kind.values().length];
+
+    // Sticky action bar
+    String stickyText;
+    int stickyPriority = -1;
+    int stickyUntil;
+    boolean onTicker;
+
+    boolean hasSticky(int now) {
+        return stickyText != null && now < stickyUntil;
+    }
+
+    void clearSticky() {
+        stickyText = null;
+        stickyPriority = -1;
+    }
+}
@@ -0,0 +1,205 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.notify;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.Notify;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Every message and sound the plugin sends to a player goes through here.
+ *
+ * Each player has a {@link NotificationChannel}: a kind is delivered at most once per its
+ * cooldown, and an action bar shown for longer than one second is "sticky". A sticky message
+ * suppresses lower-priority action bars and the same message until it expires, and all sticky
+ * messages are re-sent by one shared ticker that only runs while any is showing. The ping sound
+ * and all options are resolved on enable / reload, never per notification.
+ */
+public final class Notifications {
+
+    /** Notification kinds, lowest priority first. */
+    public enum Kind {
+        LOW_DURABILITY, // sound only
+        BROKEN_USE,     // tried to use a broken item
+        BROKEN          // an item just broke (auto-protect)
+    }
+
+    private static final int RESEND_TICKS = 20;
+    private static final int BROKEN_STICKY_TICKS = 60;  // ~3s so players can read it
+    private static final int BROKEN_USE_COOLDOWN = 30;  // small anti-spam cooldown (1.5s)
+
+    private final DurabilityPlusPlugin plugin;
+
+    // resolved on reload
+    private boolean notifyOnUse;
+    private boolean brokenInChat;
+    private boolean useInChat;
+    private boolean pingEnabled;
+    private int pingThreshold;
+    private int pingCooldown;
+    private Sound pingSound;
+    private float pingVolume;
+    private float pingPitch;
+
+    private final List<Player> sticky = new ArrayList<>();
+    private TimingWheel.Timer ticker;
+
+    public Notifications(DurabilityPlusPlugin plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    public void reload() {
+        FileConfiguration cfg = plugin.getConfig();
+        this.notifyOnUse = cfg.getBoolean("autoProtect.notifyOnUse", true);
+        String mode = cfg.getString("autoProtect.notifyMode", "chat").toLowerCase(Locale.ROOT);
+        this.brokenInChat = "chat".equals(mode);
+        this.useInChat = !"actionbar".equals(mode);
+
+        this.pingEnabled = cfg.getBoolean("lowDurabilityPing.enabled", true);
+        this.pingThreshold = cfg.getInt("lowDurabilityPing.thresholdPercent", 5);
+        this.pingCooldown = Math.max(0, cfg.getInt("lowDurabilityPing.cooldownSeconds", 10)) * 20;
+        this.pingVolume = (float) cfg.getDouble("lowDurabilityPing.volume", 1.0);
+        this.pingPitch = (float) cfg.getDouble("lowDurabilityPing.pitch", 1.0);
+        this.pingSound = resolveSound(cfg.getString("lowDurabilityPing.sound", "ENTITY_EXPERIENCE_ORB_PICKUP"));
+    }
+
+    /** Stop the ticker and forget sticky messages (disable). */
+    public void shutdown() {
+        if (ticker != null) ticker.cancel();
+        ticker = null;
+        sticky.clear();
+    }
+
+    // ------------------------------------------------------------------------
+    // API
+    // ------------------------------------------------------------------------
+
+    /** An item just reached its protected edge. */
+    public void broken(Player p) {
+        if (!notifyOnUse) return;
+        String msg = "§cYour item is broken and needs repair.";
+        if (brokenInChat) {
+            if (acquire(p, Kind.BROKEN, BROKEN_STICKY_TICKS)) Notify.chat(p, msg);
+        } else {
+            actionBar(p, Kind.BROKEN, msg, BROKEN_STICKY_TICKS);
+        }
+    }
+
+    /** The player tried to use a broken item. */
+    public void brokenUse(Player p) {
+        if (!notifyOnUse) return;
+        if (!acquire(p, Kind.BROKEN_USE, BROKEN_USE_COOLDOWN)) return;
+        if (useInChat) {
+            Notify.chat(p, "§eItem is broken — repair it to use");
+        } else {
+            // no color on the action bar for readability
+            actionBar(p, Kind.BROKEN_USE, "Item is broken — repair to use", 0);
+        }
+    }
+
+    /** Ping if {@code item} is at or below the low-durability threshold. */
+    public void lowDurability(Player p, ItemStack item) {
+        if (!pingEnabled || pingSound == null || !ItemUtil.isDamageable(item)) return;
+        if (Math.round(ItemUtil.remainingPercent(item)) > pingThreshold) return;
+
+        // per-player toggle via PDC
+        Byte disabled = p.getPersistentDataContainer().get(PdcKeys.PING_DISABLED, PersistentDataType.BYTE);
+        if (disabled != null && disabled == (byte) 1) return;
+
+        if (!acquire(p, Kind.LOW_DURABILITY, pingCooldown)) return;
+        p.playSound(p.getLocation(), pingSound, pingVolume, pingPitch);
+    }
+
+    // ------------------------------------------------------------------------
+    // channel
+    // ------------------------------------------------------------------------
+    private NotificationChannel channel(Player p) {
+        return plugin.getSessions().get(p).notifications();
+    }
+
+    /** Per-kind cooldown: true if {@code kind} may be delivered now; blocks it for {@code ticks}. */
+    private boolean acquire(Player p, Kind kind, int ticks) {
+        NotificationChannel ch = channel(p);
+        int now = Bukkit.getCurrentTick();
+        if (now < ch.readyAt[kind.ordinal()]) return false;
+        ch.readyAt[kind.ordinal()] = now + ticks;
+        return true;
+    }
+
+    /** Show an action bar; {@code stickyTicks} > 0 keeps it up that long. */
+    private void actionBar(Player p, Kind kind, String text, int stickyTicks) {
+        NotificationChannel ch = channel(p);
+        int now = Bukkit.getCurrentTick();
+        if (ch.hasSticky(now)) {
+            if (ch.stickyPriority > kind.ordinal()) return; // a more important message is showing
+            if (text.equals(ch.stickyText)) return;         // already showing
+        }
+
+        Notify.actionBar(p, text);
+        if (stickyTicks <= RESEND_TICKS) {
+            if (ch.hasSticky(now)) ch.clearSticky(); // replaced
+            return;
+        }
+        ch.stickyText = text;
+        ch.stickyPriority = kind.ordinal();
+        ch.stickyUntil = now + stickyTicks;
+        if (!ch.onTicker) {
+            ch.onTicker = true;
+            sticky.add(p);
+        }
+        if (ticker == null) ticker = plugin.getTimers().repeat(null, RESEND_TICKS, RESEND_TICKS, this::tick);
+    }
+
+    private void tick() {
+        int now = Bukkit.getCurrentTick();
+        for (int i = sticky.size() - 1; i >= 0; i--) {
+            Player p = sticky.get(i);
+            if (!p.isOnline()) {
+                sticky.remove(i);
+                continue;
+            }
+            NotificationChannel ch = channel(p);
+            if (!ch.hasSticky(now)) {
+                ch.clearSticky();
+                ch.onTicker = false;
+                sticky.remove(i);
+                continue;
+            }
+            Notify.actionBar(p, ch.stickyText);
+        }
+        if (sticky.isEmpty() && ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+    }
+
+    /** Accepts "entity.experience_orb.pickup", "minecraft:..." or the enum-style ENTITY_EXPERIENCE_ORB_PICKUP. */
+    private Sound resolveSound(String name) {
+        if (name == null || name.isBlank()) return null;
+        String n = name.trim().toLowerCase(Locale.ROOT);
+
+        NamespacedKey key = NamespacedKey.fromString(n);
+        Sound s = key != null ? Registry.SOUNDS.get(key) : null;
+        if (s != null) return s;
+
+        for (Sound candidate : Registry.SOUNDS) {
+            String path = candidate.getKey().getKey().replace('.', '_');
+            if (path.equals(n)) return candidate;
+        }
+        plugin.getLogger().warning("[DurabilityPlus] lowDurabilityPing.sound: unknown sound '" + name + "', using ENTITY_EXPERIENCE_ORB_PICKUP");
+        return Sound.ENTITY_EXPERIENCE_ORB_PICKUP;
+    }
+}
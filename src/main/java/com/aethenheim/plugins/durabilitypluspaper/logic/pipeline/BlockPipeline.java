@@ -0,0 +1,140 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.pipeline;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.MiningDelayListener;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.MiningEffectListener;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.ToolEffectiveness;
+import org.bukkit.Material;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockDamageEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single listener for BlockBreakEvent and BlockDamageEvent.
+ *
+ * The miner's main hand is read once into a {@link HandView}; the block type and whether the
+ * tool is effective on it are resolved once as well, then the enabled stages run in order:
+ *   break:  broken notice → delay mode (owns the break) → effect mode → wrong-tool mark
+ *   damage: delay mode → effect mode
+ * The wrong-tool mark runs at MONITOR so it is only recorded for breaks that actually happen;
+ * it reuses the view loaded for the same event. MONITOR also sees cancelled breaks, so the view
+ * is always released there. Stages are compiled on enable and reload.
+ */
+public final class BlockPipeline implements Listener {
+
+    @FunctionalInterface
+    interface BreakStage {
+        boolean run(BlockBreakEvent e, HandView hand);
+    }
+
+    @FunctionalInterface
+    interface DamageStage {
+        boolean run(BlockDamageEvent e, HandView hand);
+    }
+
+    private final DurabilityPlusPlugin plugin;
+    private final HandView hand = new HandView();
+
+    /** Event the view currently belongs to (shared between the HIGHEST and MONITOR phases) */
+    private BlockBreakEvent viewFor;
+    private Material blockType = Material.AIR;
+    private boolean effective = true;
+
+    private BreakStage[] breakStages = new BreakStage[0];
+    private DamageStage[] damageStages = new DamageStage[0];
+    private boolean markWrongTool;
+
+    public BlockPipeline(DurabilityPlusPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Rebuild the stage lists from the current config and mining listeners
+     * (call on enable and after the mining mode was (re)applied on reload).
+     */
+    public void compile(MiningDelayListener delay, MiningEffectListener effect) {
+        List<BreakStage> b = new ArrayList<>(3);
+        List<DamageStage> d = new ArrayList<>(2);
+
+        b.add(this::brokenNotice);
+        if (delay != null) {
+            b.add(delay::onBlockBreak);
+            d.add(delay::onBlockDamage);
+        }
+        if (effect != null) {
+            b.add(effect::onDig);
+            d.add(effect::onDig);
+        }
+        this.breakStages = b.toArray(new BreakStage[0]);
+        this.damageStages = d.toArray(new DamageStage[0]);
+        this.markWrongTool = plugin.getConfig().getBoolean("wrongTool.blocks.enabled", true);
+    }
+
+    // ------------------------------------------------------------------------
+    // Events
+    // ------------------------------------------------------------------------
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent e) {
+        load(e);
+        for (BreakStage s : breakStages) {
+            if (!s.run(e, hand)) break;
+        }
+        if (e.isCancelled()) release();
+    }
+
+    // Not ignoreCancelled: a handler after ours may cancel, and the view must still be released
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBreakDone(BlockBreakEvent e) {
+        try {
+            if (!markWrongTool || e.isCancelled()) return;
+            if (viewFor != e) load(e);
+            if (!hand.isEmpty()) plugin.getService().markBlockBreak(hand.player(), !effective);
+        } finally {
+            release();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onDamage(BlockDamageEvent e) {
+        DamageStage[] stages = damageStages;
+        if (stages.length == 0) return;
+        hand.load(plugin, e.getPlayer());
+        try {
+            for (DamageStage s : stages) {
+                if (!s.run(e, hand)) break;
+            }
+        } finally {
+            hand.clear();
+        }
+    }
+
+    private void load(BlockBreakEvent e) {
+        hand.load(plugin, e.getPlayer());
+        viewFor = e;
+        blockType = e.getBlock().getType();
+        effective = hand.isEmpty() || ToolEffectiveness.isEffective(hand.type(), blockType);
+    }
+
+    private void release() {
+        viewFor = null;
+        blockType = Material.AIR;
+        hand.clear();
+    }
+
+    // ------------------------------------------------------------------------
+    // Stages
+    // ------------------------------------------------------------------------
+    private boolean brokenNotice(BlockBreakEvent e, HandView hand) {
+        if (!hand.isBroken()) return true;
+        // The item is inert through its components; items broken before that are converted here
+        BrokenState.apply(hand.item());
+        plugin.getNotifications().brokenUse(hand.player());
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.pipeline;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.DegradationConfig;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
+import com.aethenheim.plugins.durabilitypluspaper.logic.mob.MobEquipmentWear;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single listener for EntityDamageByEntityEvent.
+ *
+ * The attacker's main hand is read once into a {@link HandView} and ordered stages run over it:
+ * broken notice → wrong-tool mark → weapon factor (melee), or the projectile factor for
+ * projectile hits; hits by other living entities go to mob equipment wear. Stages that are off
+ * in the config are left out when the pipeline is compiled (enable / reload), so a disabled
+ * feature costs nothing per hit.
+ */
+public final class CombatPipeline implements Listener {
+
+    /** One step of the pipeline; returns false to stop (e.g. the hit was cancelled). */
+    @FunctionalInterface
+    interface Stage {
+        boolean run(EntityDamageByEntityEvent e, HandView hand);
+    }
+
+    private final DurabilityPlusPlugin plugin;
+    private final MobEquipmentWear mobWear;
+    private final HandView hand = new HandView();
+
+    private Stage[] melee = new Stage[0];
+    private Stage[] projectile = new Stage[0];
+    private boolean mobs;
+
+    public CombatPipeline(DurabilityPlusPlugin plugin, MobEquipmentWear mobWear) {
+        this.plugin = plugin;
+        this.mobWear = mobWear;
+    }
+
+    /** Rebuild the stage lists from the current config (call on enable and after reload). */
+    public void compile() {
+        FileConfiguration cfg = plugin.getConfig();
+        DegradationConfig dcfg = plugin.getDegradationConfig();
+        boolean weapon = dcfg != null && dcfg.weaponDamageEnabled();
+
+        List<Stage> m = new ArrayList<>(3);
+        m.add(this::brokenNotice);
+        if (cfg.getBoolean("wrongTool.combat.enabled", true)) m.add(this::wrongToolMark);
+        if (weapon && !dcfg.weaponModeAttribute()) m.add(this::weaponFactor); // attribute mode: vanilla applies it
+        this.melee = m.toArray(new Stage[0]);
+
+        this.projectile = weapon ? new Stage[]{ this::projectileFactor } : new Stage[0];
+        this.mobs = mobWear != null && mobWear.isEnabled();
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onDamage(EntityDamageByEntityEvent e) {
+        if (e.getDamager() instanceof Player p) {
+            Stage[] stages = melee;
+            if (stages.length == 0) return;
+            hand.load(plugin, p);
+            try {
+                for (Stage s : stages) {
+                    if (!s.run(e, hand)) break;
+                }
+            } finally {
+                hand.clear();
+            }
+        } else if (e.getDamager() instanceof Projectile) {
+            for (Stage s : projectile) {
+                if (!s.run(e, null)) break;
+            }
+        } else if (mobs && e.getDamager() instanceof LivingEntity mob) {
+            mobWear.onMobAttack(e, mob);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Stages
+    // ------------------------------------------------------------------------
+    private boolean brokenNotice(EntityDamageByEntityEvent e, HandView hand) {
+        if (!hand.isBroken()) return true;
+        // The item is inert through its components; items broken before that are converted here
+        BrokenState.apply(hand.item());
+        plugin.getNotifications().brokenUse(hand.player());
+        return true;
+    }
+
+    private boolean wrongToolMark(EntityDamageByEntityEvent e, HandView hand) {
+        if (!hand.isEmpty()) plugin.getService().markCombatHit(hand.player(), hand.type());
+        return true;
+    }
+
+    private boolean weaponFactor(EntityDamageByEntityEvent e, HandView hand) {
+        if (!hand.isDamageable() || hand.isUnbreakable()) return true;
+        double factor = plugin.getFactorCache().weaponFactor(hand.player(), hand.type(), hand.remainingPercent());
+        if (factor != 1.0) e.setDamage(e.getDamage() * factor);
+        return true;
+    }
+
+    private boolean projectileFactor(EntityDamageByEntityEvent e, HandView hand) {
+        double factor = plugin.getProjectileFactors().factorOf((Projectile) e.getDamager());
+        if (factor != 1.0) e.setDamage(e.getDamage() * factor);
+        return true;
+    }
+}
@@ -0,0 +1,75 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.pipeline;
+
+import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+
+/**
+ * Main-hand state of one player, read once per event and shared by every pipeline stage.
+ * A pipeline owns one instance and reloads it per event (main thread only); it is cleared
+ * afterwards so no item is held between events.
+ */
+public final class HandView {
+
+    private Player player;
+    private ItemStack item;
+    private Material type = Material.AIR;
+    private boolean damageable;
+    private boolean unbreakable;
+    private boolean broken;
+    private int damage;
+    private int max;
+
+    /** Read the player's main hand (after catching up on rust, so BROKEN is current). */
+    void load(DurabilityPlusPlugin plugin, Player p) {
+        this.player = p;
+        this.item = p.getInventory().getItemInMainHand();
+        this.type = item.getType();
+        if (type.isAir()) {
+            damageable = unbreakable = broken = false;
+            damage = max = 0;
+            return;
+        }
+        if (plugin.getRustDecay().isEnabled() && plugin.getRustDecay().apply(item)) {
+            plugin.getFactorCache().invalidate(p);
+        }
+
+        ItemMeta meta = item.getItemMeta(); // the only meta copy for this event
+        max = ItemUtil.maxDurability(item);
+        damageable = max > 0 && meta instanceof Damageable;
+        unbreakable = meta != null && meta.isUnbreakable();
+        damage = meta instanceof Damageable d ? d.getDamage() : 0;
+        broken = BrokenState.isBroken(item);
+    }
+
+    void clear() {
+        player = null;
+        item = null;
+        type = Material.AIR;
+    }
+
+    public Player player() { return player; }
+    public ItemStack item() { return item; }
+    public Material type() { return type; }
+    public boolean isEmpty() { return type.isAir(); }
+    public boolean isDamageable() { return damageable; }
+    public boolean isUnbreakable() { return unbreakable; }
+    public boolean isBroken() { return broken; }
+    public int damage() { return damage; }
+
+    /** Remaining durability rounded to a whole percent, 0..100. */
+    public int percent() {
+        return (int) Math.round(remainingPercent());
+    }
+
+    /** Remaining durability in percent (100 for non-damageable items). */
+    public double remainingPercent() {
+        if (!damageable) return 100.0;
+        return Math.max(0, max - damage) * 100.0 / max;
+    }
+}
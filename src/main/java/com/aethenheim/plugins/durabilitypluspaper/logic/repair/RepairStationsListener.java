@@ -1,6 +1,8 @@
 package com.aethenheim.plugins.durabilitypluspaper.logic.repair;
 
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
 import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
+import com.aethenheim.plugins.durabilitypluspaper.logic.guard.BrokenState;
 import com.aethenheim.plugins.durabilitypluspaper.logic.util.PdcKeys;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -102,7 +104,7 @@ public final class RepairStationsListener implements Listener {
         }
         if (!inputBroken) return output;
 
-        int max = output.getType().getMaxDurability();
+        int max = ItemUtil.maxDurability(output);
         if (max <= 0) return output;
 
         // Plugin-defined "broken edge" is max - 1
@@ -116,6 +118,7 @@ public final class RepairStationsListener implements Listener {
         try { meta.getPersistentDataContainer().remove(PdcKeys.BROKEN); } catch (Throwable ignored) {}
 
         out.setItemMeta(meta);
+        BrokenState.restore(out);
         return out;
     }
 }
@@ -0,0 +1,86 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.session;
+
+import com.aethenheim.plugins.durabilitypluspaper.logic.WearBatch;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.DegradationFactorCache;
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.MiningEffectListener;
+import com.aethenheim.plugins.durabilitypluspaper.logic.elytra.ElytraWearListener;
+import com.aethenheim.plugins.durabilitypluspaper.logic.mending.MendingRebalanceListener;
+import com.aethenheim.plugins.durabilitypluspaper.logic.notify.NotificationChannel;
+
+/**
+ * Per-player state that lives exactly as long as the player is online (see {@link PlayerSessions}).
+ * Cooldowns are server-tick deadlines, so nothing has to run for them to expire.
+ */
+public final class PlayerSession {
+
+    // Wrong-tool marks, consumed by the next durability event
+    private boolean wrongToolBlock;
+    private boolean wrongToolCombat;
+
+    // Notification cooldowns and sticky action bar (see Notifications)
+    private final NotificationChannel notifications = new NotificationChannel();
+
+    // Open wear batch (see DurabilityService#beginBatch), or null
+    private WearBatch batch;
+
+    // Cached armor/weapon curve factors (see DegradationFactorCache), or null
+    private DegradationFactorCache.Factors factors;
+
+    // Held-item attribute multipliers currently applied (see HeldItemModifierListener); 1.0 = none
+    private double miningModifier = 1.0;
+    private double weaponModifier = 1.0;
+
+    // Mining Fatigue we last applied (see MiningEffectListener), or null
+    private MiningEffectListener.FatigueState fatigue;
+
+    // Mending carry and pending flush (see MendingRebalanceListener), or null
+    private MendingRebalanceListener.Pending mending;
+
+    // Distance-mode flight in progress (see ElytraWearListener), or null
+    private ElytraWearListener.Flight flight;
+
+    PlayerSession() {}
+
+    public void markWrongToolBlock(boolean wrong) { wrongToolBlock = wrong; }
+    public void markWrongToolCombat(boolean wrong) { wrongToolCombat = wrong; }
+
+    /** Whether a wrong-tool mark is waiting for the next durability event. */
+    public boolean hasWrongToolMark() { return wrongToolBlock || wrongToolCombat; }
+
+    /** Read and clear the block wrong-tool mark. */
+    public boolean takeWrongToolBlock() {
+        boolean v = wrongToolBlock;
+        wrongToolBlock = false;
+        return v;
+    }
+
+    /** Read and clear the combat wrong-tool mark. */
+    public boolean takeWrongToolCombat() {
+        boolean v = wrongToolCombat;
+        wrongToolCombat = false;
+        return v;
+    }
+
+    public NotificationChannel notifications() { return notifications; }
+
+    public WearBatch batch() { return batch; }
+    public void setBatch(WearBatch batch) { this.batch = batch; }
+
+    public DegradationFactorCache.Factors factors() { return factors; }
+    public void setFactors(DegradationFactorCache.Factors factors) { this.factors = factors; }
+
+    public double miningModifier() { return miningModifier; }
+    public void setMiningModifier(double mult) { this.miningModifier = mult; }
+
+    public double weaponModifier() { return weaponModifier; }
+    public void setWeaponModifier(double mult) { this.weaponModifier = mult; }
+
+    public MiningEffectListener.FatigueState fatigue() { return fatigue; }
+    public void setFatigue(MiningEffectListener.FatigueState fatigue) { this.fatigue = fatigue; }
+
+    public MendingRebalanceListener.Pending mending() { return mending; }
+    public void setMending(MendingRebalanceListener.Pending mending) { this.mending = mending; }
+
+    public ElytraWearListener.Flight flight() { return flight; }
+    public void setFlight(ElytraWearListener.Flight flight) { this.flight = flight; }
+}
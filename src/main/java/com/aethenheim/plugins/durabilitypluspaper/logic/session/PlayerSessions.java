@@ -0,0 +1,82 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.session;
+
+import com.aethenheim.plugins.durabilitypluspaper.logic.util.LongObjectMap;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Owner of the {@link PlayerSession}s: one per online player, created on join and dropped on
+ * quit, so per-player state never outlives the player.
+ *
+ * Sessions are indexed by entity id (a player keeps it across respawns and world changes), so a
+ * lookup is a primitive hash probe without hashing a UUID. Main thread only, like the rest of
+ * the plugin.
+ *
+ * Components keep their per-player state in the session instead of own maps, so this quit
+ * handler is the only one that drops it. State that must be settled on quit (an elytra flight)
+ * registers a close hook. The shared TimingWheel is registered first, so its quit handling
+ * (running expiry timers) still sees the session.
+ */
+public final class PlayerSessions implements Listener {
+
+    private final LongObjectMap<PlayerSession> byEntity = new LongObjectMap<>(64);
+    private final List<BiConsumer<Player, PlayerSession>> closeHooks = new ArrayList<>();
+
+    /** Create sessions for players already online (enable / plugin reload). */
+    public void loadOnline() {
+        for (Player p : Bukkit.getOnlinePlayers()) get(p);
+    }
+
+    /** The player's session (created if the join was missed). */
+    public PlayerSession get(Player p) {
+        PlayerSession s = byEntity.get(p.getEntityId());
+        if (s == null) {
+            s = new PlayerSession();
+            byEntity.put(p.getEntityId(), s);
+        }
+        return s;
+    }
+
+    /** The player's session, or null (does not create one). */
+    public PlayerSession peek(Player p) {
+        return byEntity.get(p.getEntityId());
+    }
+
+    /** Visit every live session (e.g. to drop cached state on reload). */
+    public void forEach(Consumer<PlayerSession> visitor) {
+        byEntity.forEachValue(visitor);
+    }
+
+    /** Run {@code hook} when a player quits, before the session is dropped. */
+    public void onClose(BiConsumer<Player, PlayerSession> hook) {
+        closeHooks.add(hook);
+    }
+
+    public void clear() {
+        byEntity.clear();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent e) {
+        get(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        Player p = e.getPlayer();
+        PlayerSession s = byEntity.get(p.getEntityId());
+        if (s == null) return;
+        for (BiConsumer<Player, PlayerSession> hook : closeHooks) hook.accept(p, s);
+        byEntity.remove(p.getEntityId());
+    }
+}
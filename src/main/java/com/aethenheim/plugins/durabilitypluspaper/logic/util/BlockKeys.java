@@ -0,0 +1,19 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.util;
+
+import org.bukkit.block.Block;
+
+/**
+ * Packs block coordinates into a single long (same layout as vanilla's BlockPos#asLong:
+ * 26 bits x, 26 bits z, 12 bits y). Collision-free for every position inside the world border.
+ */
+public final class BlockKeys {
+    private BlockKeys() {}
+
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFFL);
+    }
+
+    public static long pack(Block b) {
+        return pack(b.getX(), b.getY(), b.getZ());
+    }
+}
@@ -0,0 +1,141 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Minimal open-addressing map from primitive long keys to objects.
+ * Lookups and updates never box the key or allocate; removal uses backward-shift
+ * deletion so there are no tombstones. Not thread-safe.
+ */
+public final class LongObjectMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+
+    public LongObjectMap() {
+        this(16);
+    }
+
+    public LongObjectMap(int expected) {
+        int cap = 16;
+        while (cap * LOAD_FACTOR < expected) cap <<= 1;
+        alloc(cap);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) return (V) values[i];
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                V prev = (V) values[i];
+                values[i] = value;
+                return prev;
+            }
+            i = (i + 1) & mask;
+        }
+        used[i] = true;
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (mask + 1) * LOAD_FACTOR) rehash((mask + 1) << 1);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                V prev = (V) values[i];
+                shiftDown(i);
+                size--;
+                return prev;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(used, false);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /** Visit every value; the visitor must not modify the map. */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> visitor) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) visitor.accept((V) values[i]);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // internals
+    // ------------------------------------------------------------------------
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void shiftDown(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (!used[i]) break;
+            int home = slot(keys[i]);
+            // Move the entry back if its home slot is not cyclically within (hole, i]
+            boolean between = (hole <= i) ? (hole < home && home <= i) : (hole < home || home <= i);
+            if (!between) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        used[hole] = false;
+        values[hole] = null;
+    }
+
+    private void rehash(int newCap) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        alloc(newCap);
+        size = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+            int j = slot(oldKeys[i]);
+            while (used[j]) j = (j + 1) & mask;
+            used[j] = true;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+            size++;
+        }
+    }
+
+    private void alloc(int cap) {
+        keys = new long[cap];
+        values = new Object[cap];
+        used = new boolean[cap];
+        mask = cap - 1;
+    }
+}
@@ -8,9 +8,25 @@ public final class PdcKeys {
 
     public static NamespacedKey BROKEN;
     public static NamespacedKey PING_DISABLED; // per-player toggle
+    public static NamespacedKey RUST_LAST; // epoch millis of last rust evaluation
+    public static NamespacedKey PROJECTILE_FACTOR; // damage factor of a projectile, saved only on chunk unload
+    public static NamespacedKey BROKEN_MODEL; // item model a broken item had before the broken model was swapped in
+    public static NamespacedKey MAX_DAMAGE_SCALE; // static multiplier folded into the item's MAX_DAMAGE (native mode)
+
+    // attribute modifier keys (transient, never saved)
+    public static NamespacedKey MINING_FREEZE; // delay mode: client dig frozen while we own the break
+    public static NamespacedKey MINING_SLOW; // attribute mode: break speed from the held tool's curve
+    public static NamespacedKey WEAPON_WEAR; // attribute mode: attack damage from the held weapon's curve
 
     public static void init(JavaPlugin plugin) {
         BROKEN = new NamespacedKey(plugin, "broken");
         PING_DISABLED = new NamespacedKey(plugin, "ping_disabled");
+        RUST_LAST = new NamespacedKey(plugin, "rust_last");
+        PROJECTILE_FACTOR = new NamespacedKey(plugin, "dpfactor");
+        BROKEN_MODEL = new NamespacedKey(plugin, "broken_model");
+        MAX_DAMAGE_SCALE = new NamespacedKey(plugin, "max_damage_scale");
+        MINING_FREEZE = new NamespacedKey(plugin, "mining_freeze");
+        MINING_SLOW = new NamespacedKey(plugin, "mining_slow");
+        WEAPON_WEAR = new NamespacedKey(plugin, "weapon_wear");
     }
 }
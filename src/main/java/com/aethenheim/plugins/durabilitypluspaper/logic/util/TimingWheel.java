@@ -0,0 +1,255 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Shared hierarchical timing wheel for the plugin's timers (main thread only).
+ *
+ * Four levels of 64 slots (1, 64, 4096 and 262144 ticks per slot) hold intrusive doubly-linked
+ * lists, so schedule and cancel are O(1); entries cascade down a level as their deadline
+ * approaches. A single 1-tick Bukkit task drives the wheel and is only running while something
+ * is pending. Timers may belong to a player; all of that player's timers are dropped on quit
+ * (expiries run early instead).
+ */
+public final class TimingWheel implements Listener {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+    private final Plugin plugin;
+    private final Timer[][] wheel = new Timer[LEVELS][SLOTS];
+    private final Map<UUID, Timer> byOwner = new HashMap<>();
+
+    /** Virtual clock; only advances while the driver runs. */
+    private long now;
+    private int pending;
+    private BukkitTask driver;
+
+    /** {@code plugin} may be null to drive the wheel by hand through {@link #tick()} (tests). */
+    public TimingWheel(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /** Handle for a scheduled task. */
+    public final class Timer {
+        private final UUID owner;
+        private final Runnable task;
+        private final long period; // 0 = one-shot
+        private boolean runOnQuit;         // expiry: run early instead of dropping on owner quit
+        private long deadline;
+        private boolean active;
+        private int level, slot;
+        private Timer prev, next;           // slot list
+        private Timer ownerPrev, ownerNext; // owner list
+
+        private Timer(UUID owner, Runnable task, long period) {
+            this.owner = owner;
+            this.task = task;
+            this.period = period;
+        }
+
+        public void cancel() { TimingWheel.this.cancel(this); }
+        public boolean isActive() { return active; }
+    }
+
+    // ------------------------------------------------------------------------
+    // API
+    // ------------------------------------------------------------------------
+
+    /** Run {@code task} once after {@code delayTicks} (>= 1). {@code owner} may be null. */
+    public Timer schedule(UUID owner, long delayTicks, Runnable task) {
+        return add(new Timer(owner, task, 0L), delayTicks);
+    }
+
+    /** Run {@code task} every {@code periodTicks}, first after {@code delayTicks}. */
+    public Timer repeat(UUID owner, long delayTicks, long periodTicks, Runnable task) {
+        return add(new Timer(owner, task, Math.max(1L, periodTicks)), delayTicks);
+    }
+
+    /**
+     * Like {@link #schedule}, but if {@code owner} quits first the task runs right away instead
+     * of being dropped (cooldown expiries, cleanup).
+     */
+    public Timer expire(UUID owner, long delayTicks, Runnable task) {
+        Timer t = new Timer(owner, task, 0L);
+        t.runOnQuit = true;
+        return add(t, delayTicks);
+    }
+
+    public void cancel(Timer t) {
+        if (t == null || !t.active) return;
+        unlinkSlot(t);
+        unlinkOwner(t);
+        t.active = false;
+        pending--;
+    }
+
+    /** Cancel every timer that belongs to {@code owner}. */
+    public void cancelAll(UUID owner) {
+        Timer t = byOwner.get(owner);
+        while (t != null) {
+            Timer next = t.ownerNext;
+            cancel(t);
+            t = next;
+        }
+    }
+
+    public boolean isIdle() { return pending == 0; }
+
+    /** Cancel everything and stop the driver (disable). */
+    public void shutdown() {
+        for (Timer[] level : wheel) java.util.Arrays.fill(level, null);
+        byOwner.clear();
+        pending = 0;
+        stopDriver();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        Timer t = byOwner.get(e.getPlayer().getUniqueId());
+        while (t != null) {
+            Timer next = t.ownerNext;
+            cancel(t);
+            if (t.runOnQuit) run(t);
+            t = next;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // internals
+    // ------------------------------------------------------------------------
+    private Timer add(Timer t, long delayTicks) {
+        t.deadline = now + Math.max(1L, delayTicks);
+        t.active = true;
+        insert(t);
+        linkOwner(t);
+        if (pending++ == 0) startDriver();
+        return t;
+    }
+
+    private void insert(Timer t) {
+        long delta = Math.min(MAX_DELAY, Math.max(0L, t.deadline - now));
+        long at = now + delta;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) level++;
+        int slot = (int) ((at >>> (BITS * level)) & MASK);
+
+        t.level = level;
+        t.slot = slot;
+        t.prev = null;
+        t.next = wheel[level][slot];
+        if (t.next != null) t.next.prev = t;
+        wheel[level][slot] = t;
+    }
+
+    private void unlinkSlot(Timer t) {
+        if (t.level < 0) return; // in the chain tick() is walking; it skips inactive entries
+        if (t.prev != null) t.prev.next = t.next;
+        else if (wheel[t.level][t.slot] == t) wheel[t.level][t.slot] = t.next;
+        if (t.next != null) t.next.prev = t.prev;
+        t.prev = t.next = null;
+    }
+
+    private void linkOwner(Timer t) {
+        if (t.owner == null) return;
+        Timer head = byOwner.put(t.owner, t);
+        t.ownerPrev = null;
+        t.ownerNext = head;
+        if (head != null) head.ownerPrev = t;
+    }
+
+    private void unlinkOwner(Timer t) {
+        if (t.owner == null) return;
+        if (t.ownerPrev != null) t.ownerPrev.ownerNext = t.ownerNext;
+        else if (t.ownerNext != null) byOwner.put(t.owner, t.ownerNext);
+        else byOwner.remove(t.owner);
+        if (t.ownerNext != null) t.ownerNext.ownerPrev = t.ownerPrev;
+        t.ownerPrev = t.ownerNext = null;
+    }
+
+    void tick() {
+        now++;
+
+        // Cascade higher levels first so their entries can land in a lower slot due this tick
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((now & ((1L << (BITS * level)) - 1)) != 0) continue;
+            int slot = (int) ((now >>> (BITS * level)) & MASK);
+            Timer t = wheel[level][slot];
+            wheel[level][slot] = null;
+            while (t != null) {
+                Timer next = t.next;
+                insert(t);
+                t = next;
+            }
+        }
+
+        int slot = (int) (now & MASK);
+        Timer t = wheel[0][slot];
+        wheel[0][slot] = null;
+        // Detach the due chain: a task may cancel a sibling further down, which must neither
+        // relink through already-processed neighbours nor fire afterwards
+        for (Timer d = t; d != null; d = d.next) d.level = -1;
+        while (t != null) {
+            Timer next = t.next;
+            t.prev = t.next = null;
+            if (!t.active) {
+                t = next; // cancelled by an earlier task in this slot
+                continue;
+            }
+            if (t.deadline > now) {
+                insert(t); // clamped long delay; not due yet
+            } else {
+                fire(t);
+            }
+            t = next;
+        }
+
+        if (pending == 0) stopDriver();
+    }
+
+    private void fire(Timer t) {
+        if (t.period > 0) {
+            // Re-arm first so the task may cancel itself
+            t.deadline = now + t.period;
+            insert(t);
+        } else {
+            t.active = false;
+            unlinkOwner(t);
+            pending--;
+        }
+        run(t);
+    }
+
+    private void run(Timer t) {
+        try {
+            t.task.run();
+        } catch (Throwable ex) {
+            plugin.getLogger().log(Level.WARNING, "[DurabilityPlus] Timer task failed", ex);
+        }
+    }
+
+    private void startDriver() {
+        if (driver == null && plugin != null) driver = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    private void stopDriver() {
+        if (driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+    }
+}
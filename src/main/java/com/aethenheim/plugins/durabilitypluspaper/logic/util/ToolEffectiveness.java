@@ -0,0 +1,46 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.util;
+
+import org.bukkit.Material;
+import org.bukkit.Tag;
+
+/**
+ * Precomputed "right tool for this block" table, indexed by Material ordinal.
+ *
+ * Built once from the vanilla mineable tags (pickaxe > shovel > axe > hoe when a block is in
+ * several), so a lookup is two array reads instead of four tag checks and string suffix tests.
+ * Blocks without a mineable tag accept any tool (avoids false wrong-tool positives).
+ */
+public final class ToolEffectiveness {
+    private ToolEffectiveness() {}
+
+    private static final byte NONE = 0, PICKAXE = 1, SHOVEL = 2, AXE = 3, HOE = 4;
+
+    private static final byte[] BLOCK_TOOL = new byte[Material.values().length];
+    private static final byte[] TOOL_KIND = new byte[Material.values().length];
+
+    static {
+        // Lowest precedence first so the higher one overwrites
+        fill(Tag.MINEABLE_HOE, HOE);
+        fill(Tag.MINEABLE_AXE, AXE);
+        fill(Tag.MINEABLE_SHOVEL, SHOVEL);
+        fill(Tag.MINEABLE_PICKAXE, PICKAXE);
+
+        for (Material m : Material.values()) {
+            String n = m.name();
+            if (n.endsWith("_PICKAXE")) TOOL_KIND[m.ordinal()] = PICKAXE;
+            else if (n.endsWith("_SHOVEL")) TOOL_KIND[m.ordinal()] = SHOVEL;
+            else if (n.endsWith("_AXE")) TOOL_KIND[m.ordinal()] = AXE;
+            else if (n.endsWith("_HOE")) TOOL_KIND[m.ordinal()] = HOE;
+        }
+    }
+
+    private static void fill(Tag<Material> tag, byte kind) {
+        for (Material m : tag.getValues()) BLOCK_TOOL[m.ordinal()] = kind;
+    }
+
+    /** True if {@code tool} is the right tool kind for {@code block} (or the block has no preference). */
+    public static boolean isEffective(Material tool, Material block) {
+        byte need = BLOCK_TOOL[block.ordinal()];
+        return need == NONE || TOOL_KIND[tool.ordinal()] == need;
+    }
+}
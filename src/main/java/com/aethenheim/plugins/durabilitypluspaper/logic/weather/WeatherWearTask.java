@@ -1,5 +1,6 @@
 package com.aethenheim.plugins.durabilitypluspaper.logic.weather;
 
+import com.aethenheim.plugins.durabilitypluspaper.logic.degrade.ItemUtil;
 import com.aethenheim.plugins.durabilitypluspaper.DurabilityPlusPlugin;
 import com.aethenheim.plugins.durabilitypluspaper.logic.LoreUtil;
 import org.bukkit.Bukkit;
@@ -60,17 +61,19 @@ public final class WeatherWearTask implements Runnable {
             World w = p.getWorld();
             if (!isStorming(w)) continue;
 
+            boolean changed = false;
             // Tools
             if (affectTools) {
-                tickIfAffected(p.getInventory().getItem(EquipmentSlot.HAND), toolPrefixes, exemptTiers);
-                tickIfAffected(p.getInventory().getItem(EquipmentSlot.OFF_HAND), toolPrefixes, exemptTiers);
+                changed |= tickIfAffected(p.getInventory().getItem(EquipmentSlot.HAND), toolPrefixes, exemptTiers);
+                changed |= tickIfAffected(p.getInventory().getItem(EquipmentSlot.OFF_HAND), toolPrefixes, exemptTiers);
             }
              //Armor
             if (affectArmor) {
                 for (ItemStack armor : p.getInventory().getArmorContents()) {
-                    tickIfAffected(armor, armorPrefixes, exemptTiers);
+                    changed |= tickIfAffected(armor, armorPrefixes, exemptTiers);
                 }
             }
+            if (changed) plugin.getFactorCache().invalidate(p);
         }
     }
 
@@ -78,26 +81,30 @@ public final class WeatherWearTask implements Runnable {
         return w.hasStorm() || w.isThundering();
     }
 
-    /** Apply 1 point of damage if the item matches the allowed prefixes and is NOT in the exempt list. */
-    private void tickIfAffected(ItemStack stack, List<String> allowedPrefixes, List<String> exemptPrefixes) {
-        if (stack == null || stack.getType() == Material.AIR) return;
+    /**
+     * Apply 1 point of damage if the item matches the allowed prefixes and is NOT in the exempt list.
+     * @return true if the item was damaged
+     */
+    private boolean tickIfAffected(ItemStack stack, List<String> allowedPrefixes, List<String> exemptPrefixes) {
+        if (stack == null || stack.getType() == Material.AIR) return false;
 
         final Material mat = stack.getType();
         final String name = mat.name();
 
-        if (!matchesAnyPrefix(name, allowedPrefixes)) return;
-        if (matchesAnyPrefix(name, exemptPrefixes)) return;
+        if (!matchesAnyPrefix(name, allowedPrefixes)) return false;
+        if (matchesAnyPrefix(name, exemptPrefixes)) return false;
 
         ItemMeta meta = stack.getItemMeta();
-        if (!(meta instanceof Damageable d)) return;
-        int max = mat.getMaxDurability();
-        if (max <= 0) return;
+        if (!(meta instanceof Damageable d)) return false;
+        int max = ItemUtil.maxDurability(stack);
+        if (max <= 0) return false;
 
         int newDamage = Math.min(max, d.getDamage() + 1);
         d.setDamage(newDamage);
         stack.setItemMeta(meta);
 
         lore.updateLore(stack);
+        return true;
     }
 
     private boolean matchesAnyPrefix(String materialName, List<String> prefixes) {
@@ -0,0 +1,62 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WearBatchTest {
+
+    @Test
+    void accumulatesBelowTheEdge() {
+        WearBatch.Tally t = new WearBatch.Tally(10, 100);
+        assertFalse(t.add(3));
+        assertFalse(t.add(0));
+        assertFalse(t.add(4));
+        assertEquals(7, t.pending());
+        assertFalse(t.settled());
+
+        assertEquals(7, t.drain());
+        assertEquals(0, t.pending());
+    }
+
+    @Test
+    void settlesOnTheRecordThatReachesTheEdge() {
+        WearBatch.Tally t = new WearBatch.Tally(95, 100);
+        assertFalse(t.add(4)); // 99: one point left
+        assertTrue(t.add(1));  // 100: the edge
+        assertTrue(t.settled());
+        assertEquals(5, t.drain()); // everything recorded is written at once
+    }
+
+    @Test
+    void overshootIsWrittenWhole() {
+        // The service clamps to the edge; the batch hands over everything it rolled
+        WearBatch.Tally t = new WearBatch.Tally(98, 100);
+        assertTrue(t.add(7));
+        assertEquals(7, t.drain());
+    }
+
+    @Test
+    void nothingIsRecordedAfterSettling() {
+        WearBatch.Tally t = new WearBatch.Tally(99, 100);
+        assertTrue(t.add(1));
+        t.drain();
+
+        assertFalse(t.add(5));
+        assertEquals(0, t.pending());
+        assertTrue(t.settled());
+    }
+
+    @Test
+    void toolsWithoutWearOrEdge() {
+        WearBatch.Tally unbreakable = new WearBatch.Tally(-1, 100);
+        assertFalse(unbreakable.takesWear());
+        assertFalse(unbreakable.add(500));
+        assertEquals(0, unbreakable.pending());
+
+        WearBatch.Tally noEdge = new WearBatch.Tally(0, 0);
+        assertFalse(noEdge.add(10_000));
+        assertFalse(noEdge.settled());
+        assertEquals(10_000, noEdge.drain());
+    }
+}
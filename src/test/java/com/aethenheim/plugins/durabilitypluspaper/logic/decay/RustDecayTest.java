@@ -0,0 +1,64 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.decay;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RustDecayTest {
+
+    private static final long HOUR = 60L * 60L * 1000L;
+
+    @Test
+    void periodFollowsConfiguredRate() {
+        assertEquals(HOUR, RustDecay.periodMs(24.0));
+        assertEquals(24 * HOUR, RustDecay.periodMs(1.0));
+        assertEquals(1L, RustDecay.periodMs(1e12)); // never a zero period
+    }
+
+    @Test
+    void noRustDueWithinOnePeriod() {
+        assertEquals(0L, RustDecay.duePoints(1_000L, 1_000L, HOUR));
+        assertEquals(0L, RustDecay.duePoints(1_000L, 1_000L + HOUR - 1, HOUR));
+        assertEquals(1L, RustDecay.duePoints(1_000L, 1_000L + HOUR, HOUR));
+    }
+
+    @Test
+    void catchUpChargesWholePeriodsAndCarriesTheRemainder() {
+        long last = 0L;
+        long now = 5 * HOUR / 2; // two and a half periods
+
+        long points = RustDecay.duePoints(last, now, HOUR);
+        assertEquals(2L, points);
+        last = RustDecay.advance(last, points, HOUR);
+        assertEquals(2 * HOUR, last);
+
+        // The half period already elapsed counts towards the next point
+        assertEquals(0L, RustDecay.duePoints(last, now, HOUR));
+        assertEquals(1L, RustDecay.duePoints(last, 3 * HOUR, HOUR));
+    }
+
+    @Test
+    void catchUpAfterLongAbsenceMatchesStepwise() {
+        long period = 7 * HOUR;
+        long now = 90L * 24 * HOUR + 12345L;
+
+        long stepwise = 0L, clock = 0L;
+        for (long t = 0; t <= now; t += HOUR) {
+            long p = RustDecay.duePoints(clock, t, period);
+            stepwise += p;
+            clock = RustDecay.advance(clock, p, period);
+        }
+        stepwise += RustDecay.duePoints(clock, now, period);
+
+        assertEquals(stepwise, RustDecay.duePoints(0L, now, period));
+    }
+
+    @Test
+    void rustStopsAtTheEdge() {
+        int max = 250;
+        int edge = max - 1;
+        assertEquals(13, RustDecay.rusted(10, 3, edge));
+        assertEquals(edge, RustDecay.rusted(edge - 1, 5, edge));
+        assertEquals(edge, RustDecay.rusted(0, 1L << 40, edge)); // no int overflow
+    }
+}
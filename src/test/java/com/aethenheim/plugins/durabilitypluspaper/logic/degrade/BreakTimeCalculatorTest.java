@@ -0,0 +1,74 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.degrade;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreakTimeCalculatorTest {
+
+    // Stone: hardness 1.5; a wooden pickaxe digs it at speed 2 and is the correct tool
+    private static final float STONE = 1.5f;
+    private static final float WOOD_PICK = 2.0f;
+
+    /** Plain player: no effects, default attributes. */
+    private static int ticks(float hardness, float toolSpeed, boolean preferred, boolean submerged, boolean onGround) {
+        return BreakTimeCalculator.ticks(hardness, toolSpeed, preferred, -1, -1, 0.0, 1.0, 0.2, submerged, onGround);
+    }
+
+    @Test
+    void unbreakableBlocks() {
+        assertEquals(-1, ticks(-1f, WOOD_PICK, true, false, true));
+    }
+
+    @Test
+    void zeroHardnessBreaksInstantly() {
+        assertEquals(1, ticks(0f, 1.0f, false, false, true));
+    }
+
+    @Test
+    void matchesVanillaOnGround() {
+        // Wooden pickaxe on stone: 1.15 s
+        assertEquals(23, ticks(STONE, WOOD_PICK, true, false, true));
+        // Bare hand on stone (no drops): 7.5 s
+        assertEquals(150, ticks(STONE, 1.0f, false, false, true));
+    }
+
+    @Test
+    void zeroProgressCannotBreak() {
+        assertEquals(-1, BreakTimeCalculator.ticks(STONE, WOOD_PICK, true, -1, -1, 0.0, 0.0, 0.2, false, true));
+        // Submerged with no submerged mining speed at all
+        assertEquals(-1, BreakTimeCalculator.ticks(STONE, WOOD_PICK, true, -1, -1, 0.0, 1.0, 0.0, true, true));
+    }
+
+    @Test
+    void airborneIsFiveTimesSlower() {
+        assertEquals(113, ticks(STONE, WOOD_PICK, true, false, false));
+    }
+
+    @Test
+    void submergedUsesTheAttribute() {
+        assertEquals(113, ticks(STONE, WOOD_PICK, true, true, true));
+        // Aqua affinity style attribute of 1.0 removes the penalty
+        assertEquals(23, BreakTimeCalculator.ticks(STONE, WOOD_PICK, true, -1, -1, 0.0, 1.0, 1.0, true, true));
+    }
+
+    @Test
+    void submergedAndAirbornePenaltiesStack() {
+        assertEquals(563, ticks(STONE, WOOD_PICK, true, true, false));
+    }
+
+    @Test
+    void efficiencyOnlyHelpsEffectiveTools() {
+        // Efficiency V adds 26 to the tool speed
+        assertEquals(2, BreakTimeCalculator.ticks(STONE, WOOD_PICK, true, -1, -1, 26.0, 1.0, 0.2, false, true));
+        assertEquals(150, BreakTimeCalculator.ticks(STONE, 1.0f, false, -1, -1, 26.0, 1.0, 0.2, false, true));
+    }
+
+    @Test
+    void hasteAndFatigueScaleSpeed() {
+        // Haste II: x1.4
+        assertEquals(17, BreakTimeCalculator.ticks(STONE, WOOD_PICK, true, 1, -1, 0.0, 1.0, 0.2, false, true));
+        // Mining Fatigue I: x0.3
+        assertEquals(75, BreakTimeCalculator.ticks(STONE, WOOD_PICK, true, -1, 0, 0.0, 1.0, 0.2, false, true));
+    }
+}
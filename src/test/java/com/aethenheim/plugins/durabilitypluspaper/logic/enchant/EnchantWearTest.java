@@ -0,0 +1,115 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.enchant;
+
+import io.papermc.paper.datacomponent.item.ItemEnchantments;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnchantWearTest {
+
+    private static EnchantWear wear(Map<String, Object> values) {
+        YamlConfiguration cfg = new YamlConfiguration();
+        values.forEach(cfg::set);
+        return new EnchantWear(cfg, Logger.getLogger("EnchantWearTest"));
+    }
+
+    /** An empty enchantment component (identity equality) that counts how often it is resolved. */
+    private static ItemEnchantments component(AtomicInteger reads) {
+        return (ItemEnchantments) Proxy.newProxyInstance(
+                EnchantWearTest.class.getClassLoader(), new Class<?>[]{ItemEnchantments.class},
+                (proxy, m, args) -> switch (m.getName()) {
+                    case "enchantments" -> {
+                        reads.incrementAndGet();
+                        yield Map.of();
+                    }
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "ItemEnchantments@" + System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(m.getName());
+                });
+    }
+
+    @Test
+    void unbreakingFallsBackToVanillaAverages() {
+        EnchantWear w = wear(Map.of());
+        assertEquals(0.5, w.unbreaking(1, false), 1e-12);
+        assertEquals(0.25, w.unbreaking(3, false), 1e-12);
+        // Armor ignores Unbreaking 60% of the time
+        assertEquals(0.8, w.unbreaking(1, true), 1e-12);
+        assertEquals(0.7, w.unbreaking(3, true), 1e-12);
+    }
+
+    @Test
+    void unbreakingTableOverridesOnlyConfiguredLevels() {
+        EnchantWear w = wear(Map.of(
+                "enchantWear.enabled", true,
+                "enchantWear.unbreaking.tools.1", 0.9,
+                "enchantWear.unbreaking.armor.2", 0.95));
+        assertEquals(0.9, w.unbreaking(1, false), 1e-12);
+        assertEquals(1.0 / 3, w.unbreaking(2, false), 1e-12);
+        assertEquals(0.95, w.unbreaking(2, true), 1e-12);
+        assertEquals(0.8, w.unbreaking(1, true), 1e-12);
+    }
+
+    @Test
+    void unbreakingTableGrowsForHighLevels() {
+        EnchantWear w = wear(Map.of("enchantWear.unbreaking.tools.10", 0.05));
+        assertEquals(0.05, w.unbreaking(10, false), 1e-12);
+        assertEquals(1.0 / 9, w.unbreaking(8, false), 1e-12);   // inside the grown table, not configured
+        assertEquals(1.0 / 12, w.unbreaking(11, false), 1e-12); // past it
+        assertEquals(0.6 + 0.4 / 11, w.unbreaking(10, true), 1e-12);
+    }
+
+    @Test
+    void invalidTableEntriesAreIgnored() {
+        EnchantWear w = wear(Map.of(
+                "enchantWear.unbreaking.tools.0", 0.1,
+                "enchantWear.unbreaking.tools.three", 0.1,
+                "enchantWear.unbreaking.tools.2", -4.0));
+        assertEquals(0.5, w.unbreaking(1, false), 1e-12);
+        assertEquals(0.0, w.unbreaking(2, false), 1e-12); // negatives clamp to zero wear
+    }
+
+    @Test
+    void factorIsResolvedOncePerSignature() {
+        EnchantWear w = wear(Map.of());
+        AtomicInteger reads = new AtomicInteger();
+        ItemEnchantments a = component(reads);
+
+        assertEquals(1.0, w.factor(a, false), 1e-12);
+        assertEquals(1.0, w.factor(a, false), 1e-12);
+        assertEquals(1, reads.get());
+
+        // Armor is part of the signature
+        w.factor(a, true);
+        assertEquals(2, reads.get());
+        w.factor(a, true);
+        assertEquals(2, reads.get());
+
+        // So is the component itself
+        AtomicInteger otherReads = new AtomicInteger();
+        w.factor(component(otherReads), false);
+        assertEquals(1, otherReads.get());
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void cacheIsDroppedWhenFull() {
+        EnchantWear w = wear(Map.of());
+        AtomicInteger reads = new AtomicInteger();
+        ItemEnchantments a = component(reads);
+        w.factor(a, false);
+
+        AtomicInteger filler = new AtomicInteger();
+        for (int i = 0; i < 1024; i++) w.factor(component(filler), false);
+
+        w.factor(a, false);
+        assertEquals(2, reads.get());
+    }
+}
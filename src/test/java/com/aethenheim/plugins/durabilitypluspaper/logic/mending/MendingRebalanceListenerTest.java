@@ -0,0 +1,81 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.mending;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MendingRebalanceListenerTest {
+
+    private static final int MAIN_HAND = 0;
+    private static final int OFF_HAND = 1;
+    private static final int DAMAGED = 1000;
+
+    /** Total repair of {@code orbs} one-point orbs at {@code factor} on one item. */
+    private static int repairOf(int orbs, double factor) {
+        MendingRebalanceListener.Pending pd = new MendingRebalanceListener.Pending();
+        int total = 0;
+        for (int n = 0; n < orbs; n++) {
+            total += MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 1, factor, DAMAGED);
+        }
+        return total;
+    }
+
+    @Test
+    void fullFactorPassesThrough() {
+        MendingRebalanceListener.Pending pd = new MendingRebalanceListener.Pending();
+        assertEquals(6, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 6, 1.0, DAMAGED));
+        assertEquals(0.0, pd.carry[MAIN_HAND], 0.0);
+    }
+
+    @Test
+    void fractionsAddUpExactly() {
+        assertEquals(3, repairOf(10, 0.3));
+        assertEquals(30, repairOf(100, 0.3));
+        assertEquals(10, repairOf(100, 0.1));
+        assertEquals(700, repairOf(1000, 0.7));
+    }
+
+    @Test
+    void smallOrbsFeedTheCarry() {
+        MendingRebalanceListener.Pending pd = new MendingRebalanceListener.Pending();
+        assertEquals(0, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 1, 0.4, DAMAGED));
+        assertEquals(0, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 1, 0.4, DAMAGED));
+        assertEquals(1, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 1, 0.4, DAMAGED));
+        assertEquals(0.2, pd.carry[MAIN_HAND], 1e-9);
+    }
+
+    @Test
+    void nonTerminatingFactorKeepsItsRemainder() {
+        assertEquals(33, repairOf(100, 1.0 / 3));
+    }
+
+    @Test
+    void factorAboveOneCarriesToo() {
+        MendingRebalanceListener.Pending pd = new MendingRebalanceListener.Pending();
+        assertEquals(7, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 3, 2.5, DAMAGED));
+        assertEquals(8, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 3, 2.5, DAMAGED));
+    }
+
+    @Test
+    void repairNeverExceedsDamage() {
+        MendingRebalanceListener.Pending pd = new MendingRebalanceListener.Pending();
+        assertEquals(2, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 10, 1.0, 2));
+        assertEquals(0, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 10, 1.0, 0));
+    }
+
+    @Test
+    void carryBelongsToTheItemAndSlot() {
+        MendingRebalanceListener.Pending pd = new MendingRebalanceListener.Pending();
+        assertEquals(0, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.DIAMOND_PICKAXE, 1, 0.5, DAMAGED));
+
+        // Another slot has its own carry
+        assertEquals(0, MendingRebalanceListener.scaledRepair(pd, OFF_HAND, Material.SHIELD, 1, 0.5, DAMAGED));
+
+        // A different item in the main hand starts over instead of inheriting the half point
+        assertEquals(0, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.IRON_PICKAXE, 1, 0.5, DAMAGED));
+        assertEquals(1, MendingRebalanceListener.scaledRepair(pd, MAIN_HAND, Material.IRON_PICKAXE, 1, 0.5, DAMAGED));
+
+        assertEquals(1, MendingRebalanceListener.scaledRepair(pd, OFF_HAND, Material.SHIELD, 1, 0.5, DAMAGED));
+    }
+}
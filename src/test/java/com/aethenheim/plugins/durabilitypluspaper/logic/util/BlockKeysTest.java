@@ -0,0 +1,59 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockKeysTest {
+
+    // Inverse of BlockKeys.pack (sign-extending each field)
+    private static int x(long key) { return (int) (key >> 38); }
+    private static int y(long key) { return (int) (key << 52 >> 52); }
+    private static int z(long key) { return (int) (key << 26 >> 38); }
+
+    private static void assertRoundTrip(int x, int y, int z) {
+        long key = BlockKeys.pack(x, y, z);
+        assertEquals(x, x(key), "x of " + x + "," + y + "," + z);
+        assertEquals(y, y(key), "y of " + x + "," + y + "," + z);
+        assertEquals(z, z(key), "z of " + x + "," + y + "," + z);
+    }
+
+    @Test
+    void negativeCoordinatesRoundTrip() {
+        assertRoundTrip(-1, -1, -1);
+        assertRoundTrip(-1, -64, -1);
+        assertRoundTrip(-12345, 5, 678);
+        assertRoundTrip(12345, -5, -678);
+    }
+
+    @Test
+    void worldBorderAndBuildLimitsRoundTrip() {
+        int border = 29_999_984;
+        for (int x : new int[]{-border, border, -border - 16, border + 15}) {
+            for (int z : new int[]{-border, border}) {
+                for (int y : new int[]{-2048, -64, 319, 2047}) assertRoundTrip(x, y, z);
+            }
+        }
+    }
+
+    @Test
+    void neighboursAroundZeroAreDistinct() {
+        Set<Long> keys = new HashSet<>();
+        for (int x = -2; x <= 2; x++) {
+            for (int y = -2; y <= 2; y++) {
+                for (int z = -2; z <= 2; z++) assertTrue(keys.add(BlockKeys.pack(x, y, z)));
+            }
+        }
+    }
+
+    @Test
+    void signDoesNotLeakIntoOtherFields() {
+        // A negative y or z must not set bits of the fields above it
+        assertEquals(0xFFFL, BlockKeys.pack(0, -1, 0));
+        assertEquals(0, x(BlockKeys.pack(0, -1, -1)));
+        assertEquals(0, z(BlockKeys.pack(0, -1, 0)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    @Test
+    void putGetReplaceRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.put(7L, "a"));
+        assertEquals("a", map.put(7L, "b"));
+        assertEquals("b", map.get(7L));
+        assertEquals(1, map.size());
+
+        assertEquals("b", map.remove(7L));
+        assertNull(map.remove(7L));
+        assertNull(map.get(7L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void extremeKeysAreOrdinaryKeys() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        long[] keys = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long k : keys) map.put(k, Long.toString(k));
+        for (long k : keys) assertEquals(Long.toString(k), map.get(k));
+        assertEquals(keys.length, map.size());
+    }
+
+    @Test
+    void resizeKeepsEveryEntry() {
+        LongObjectMap<Long> map = new LongObjectMap<>(); // 16 slots, grows past 8 entries
+        for (long k = 0; k < 10_000; k++) map.put(k * 31, k);
+        assertEquals(10_000, map.size());
+        for (long k = 0; k < 10_000; k++) assertEquals(Long.valueOf(k), map.get(k * 31));
+        assertNull(map.get(1L));
+    }
+
+    @Test
+    void removeInsideProbeChainKeepsLaterEntriesReachable() {
+        // A small table and dense keys force long probe chains that wrap around
+        LongObjectMap<Long> map = new LongObjectMap<>(4);
+        for (long k = 0; k < 8; k++) map.put(k, k);
+
+        for (long k = 0; k < 8; k += 2) assertEquals(Long.valueOf(k), map.remove(k));
+        for (long k = 1; k < 8; k += 2) assertEquals(Long.valueOf(k), map.get(k));
+        for (long k = 0; k < 8; k += 2) assertNull(map.get(k));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomChurn() {
+        // At most 8 live keys keep the table at 16 slots, so chains wrap past its end
+        churn(1024, 8, 1);
+        // Unbounded: resizes while removals hit occupied chains
+        churn(512, Integer.MAX_VALUE, 2);
+    }
+
+    private static void churn(int keyRange, int maxLive, long seed) {
+        Random rng = new Random(seed);
+        LongObjectMap<Integer> map = new LongObjectMap<>();
+        Map<Long, Integer> ref = new HashMap<>();
+        List<Long> live = new ArrayList<>();
+
+        for (int op = 0; op < 200_000; op++) {
+            long key = rng.nextInt(keyRange) - keyRange / 2L;
+            int kind = rng.nextInt(3);
+            if (kind == 0 && ref.size() >= maxLive && !ref.containsKey(key)) {
+                key = live.get(rng.nextInt(live.size()));
+                kind = 1;
+            }
+            switch (kind) {
+                case 0 -> {
+                    if (!ref.containsKey(key)) live.add(key);
+                    assertEquals(ref.put(key, op), map.put(key, op));
+                }
+                case 1 -> {
+                    live.remove(Long.valueOf(key));
+                    assertEquals(ref.remove(key), map.remove(key));
+                }
+                default -> assertEquals(ref.get(key), map.get(key));
+            }
+            assertEquals(ref.size(), map.size());
+        }
+        for (long key : live) assertEquals(ref.get(key), map.get(key));
+    }
+
+    @Test
+    void clearAndForEachValue() {
+        LongObjectMap<Integer> map = new LongObjectMap<>();
+        for (int i = 0; i < 100; i++) map.put(i, i);
+
+        List<Integer> seen = new ArrayList<>();
+        map.forEachValue(seen::add);
+        assertEquals(100, seen.size());
+        assertEquals(4950, seen.stream().mapToInt(Integer::intValue).sum());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5));
+        map.forEachValue(v -> fail("cleared map visited " + v));
+
+        map.put(5, 50);
+        assertEquals(Integer.valueOf(50), map.get(5));
+    }
+}
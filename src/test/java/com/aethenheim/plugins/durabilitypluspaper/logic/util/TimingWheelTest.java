@@ -0,0 +1,58 @@
+package com.aethenheim.plugins.durabilitypluspaper.logic.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static void advance(TimingWheel wheel, int ticks) {
+        for (int i = 0; i < ticks; i++) wheel.tick();
+    }
+
+    @Test
+    void cancelledSiblingDueOnSameTickDoesNotFire() {
+        TimingWheel wheel = new TimingWheel(null);
+        AtomicInteger siblingRuns = new AtomicInteger();
+
+        // Slot lists are LIFO: the sibling is processed right after the task that cancels it
+        TimingWheel.Timer sibling = wheel.schedule(null, 5, siblingRuns::incrementAndGet);
+        wheel.schedule(null, 5, sibling::cancel);
+        TimingWheel.Timer later = wheel.schedule(null, 10, () -> {});
+
+        advance(wheel, 5);
+        assertEquals(0, siblingRuns.get());
+        assertFalse(sibling.isActive());
+        assertTrue(later.isActive());
+        assertFalse(wheel.isIdle()); // pending must still count the later timer
+
+        advance(wheel, 5);
+        assertFalse(later.isActive());
+        assertTrue(wheel.isIdle());
+    }
+
+    @Test
+    void periodicTaskCancellingSiblingKeepsItsNewSlotIntact() {
+        TimingWheel wheel = new TimingWheel(null);
+        AtomicInteger siblingRuns = new AtomicInteger();
+        AtomicInteger neighbourRuns = new AtomicInteger();
+
+        // Already waiting in the slot the periodic timer is re-armed into (tick 8)
+        wheel.schedule(null, 8, neighbourRuns::incrementAndGet);
+
+        TimingWheel.Timer sibling = wheel.schedule(null, 3, siblingRuns::incrementAndGet);
+        TimingWheel.Timer periodic = wheel.repeat(null, 3, 5, sibling::cancel);
+
+        advance(wheel, 3);
+        assertEquals(0, siblingRuns.get());
+
+        advance(wheel, 5);
+        assertEquals(1, neighbourRuns.get());
+
+        periodic.cancel();
+        assertFalse(periodic.isActive());
+        assertTrue(wheel.isIdle());
+    }
+}